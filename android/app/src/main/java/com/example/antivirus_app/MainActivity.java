@@ -7,16 +7,30 @@ import io.flutter.plugins.GeneratedPluginRegistrant;
 import android.os.Bundle;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageInfo;
 import android.content.Context;
 import android.util.Log;
 import android.os.Build;
+import com.example.antivirus_app.channels.AppLabelCache;
+import com.example.antivirus_app.channels.BinaryRecords;
+import com.example.antivirus_app.channels.FileScanStreamHandler;
+import com.example.antivirus_app.channels.InstalledApps;
+import com.example.antivirus_app.channels.InstalledAppsStreamHandler;
+import com.example.antivirus_app.channels.MethodCallDispatcher;
+import com.example.antivirus_app.scanner.PackageEnumerator;
+import com.example.antivirus_app.scanner.PermissionRiskEngine;
+import com.example.antivirus_app.scanner.ScanEngine;
+import com.example.antivirus_app.scanner.ScanMetrics;
+import com.example.antivirus_app.scanner.fs.FileScanner;
+import com.example.antivirus_app.scanner.signature.SignatureStore;
+import com.example.antivirus_app.services.ScanForegroundService;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodChannel;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
@@ -26,123 +40,156 @@ public class MainActivity extends FlutterActivity {
     private static final String CHANNEL = "com.example.antivirus_app/native";
     private static final int PERMISSION_REQUEST_CODE = 123;
     private static final String TAG = "MainActivity";
+    
+    private MethodCallDispatcher methodCallDispatcher;
+    private InstalledAppsStreamHandler installedAppsStreamHandler;
+    private FileScanStreamHandler fileScanStreamHandler;
 
     @Override
     public void configureFlutterEngine(@NonNull FlutterEngine flutterEngine) {
         super.configureFlutterEngine(flutterEngine);
         
-        new MethodChannel(flutterEngine.getDartExecutor().getBinaryMessenger(), CHANNEL)
-            .setMethodCallHandler(
-                (call, result) -> {
-                    switch (call.method) {
-                        case "getInstalledApps":
-                            try {
-                                List<Map<String, Object>> apps = getInstalledApplications();
-                                result.success(apps);
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error getting installed apps", e);
-                                result.error("UNAVAILABLE", "Error getting installed apps: " + e.getMessage(), null);
-                            }
-                            break;
-                        case "scanFile":
-                            String filePath = call.argument("filePath");
-                            if (filePath != null) {
-                                try {
-                                    Map<String, Object> scanResult = scanFile(filePath);
-                                    result.success(scanResult);
-                                } catch (Exception e) {
-                                    Log.e(TAG, "Error scanning file", e);
-                                    result.error("SCAN_ERROR", "Error scanning file: " + e.getMessage(), null);
-                                }
-                            } else {
-                                result.error("INVALID_ARGUMENT", "File path is null", null);
-                            }
-                            break;
-                        case "startScanService":
-                            boolean startInForeground = call.argument("foreground");
-                            startScanService(startInForeground);
-                            result.success(true);
-                            break;
-                        case "stopScanService":
-                            stopScanService();
-                            result.success(true);
-                            break;
-                        case "checkPermissions":
-                            boolean hasPermissions = checkPermissions();
-                            result.success(hasPermissions);
-                            break;
-                        case "requestPermissions":
-                            requestPermissions();
-                            result.success(true);
-                            break;
-                        default:
-                            result.notImplemented();
-                            break;
-                    }
+        // Ağır metotlar arka planda, metot başına eşzamanlılık sınırıyla çalışır;
+        // ana thread'de yalnızca Activity gerektiren hafif çağrılar kalır
+        methodCallDispatcher = new MethodCallDispatcher()
+            .inBackground("getInstalledApps", 1, "UNAVAILABLE", "Error getting installed apps", call -> {
+                // "binary": true ile yanıt, string tablolu ikili kayıt olarak (Uint8List) döner
+                if (Boolean.TRUE.equals(call.argument("binary"))) {
+                    PackageManager packageManager = getPackageManager();
+                    AppLabelCache labels = AppLabelCache.getInstance(this);
+                    byte[] records = BinaryRecords.encodeInstalledApps(packageManager, labels,
+                        PackageEnumerator.getInstance(this).getUserPackages(PermissionRiskEngine.PACKAGE_INFO_FLAGS),
+                        PermissionRiskEngine.getDefault());
+                    labels.save();
+                    return records;
+                }
+                return getInstalledApplications();
+            })
+            .inBackground("scanFile", 2, "SCAN_ERROR", "Error scanning file", call -> {
+                String filePath = call.argument("filePath");
+                if (filePath == null) {
+                    throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "File path is null");
+                }
+                Map<String, Object> scanResult = scanFile(filePath);
+                return Boolean.TRUE.equals(call.argument("binary")) ? BinaryRecords.encodeFileScan(scanResult) : scanResult;
+            })
+            .inBackground("scanPaths", 1, "SCAN_ERROR", "Error scanning paths", call -> {
+                if (!(call.arguments instanceof Map)) {
+                    throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "Scan arguments are missing");
+                }
+                return scanPaths((Map<?, ?>) call.arguments);
+            })
+            .inBackground("checkPermissions", 1, "UNAVAILABLE", "Error checking permissions",
+                call -> checkPermissions())
+            .inBackground("applySignatureDelta", 1, "UPDATE_ERROR", "Error applying signature delta", call -> {
+                String deltaPath = call.argument("path");
+                if (deltaPath == null) {
+                    throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "Delta path is null");
                 }
-            );
+                return applySignatureDelta(deltaPath, "certificates".equals(call.argument("database")));
+            })
+            .inBackground("installSimilarityIndex", 1, "UPDATE_ERROR", "Error installing similarity index", call -> {
+                String indexPath = call.argument("path");
+                if (indexPath == null) {
+                    throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "Index path is null");
+                }
+                return ScanEngine.getInstance(this).installSimilarityIndex(new File(indexPath));
+            })
+            .inBackground("installContentRules", 1, "UPDATE_ERROR", "Error installing content rules", call -> {
+                String rulesPath = call.argument("path");
+                if (rulesPath == null) {
+                    throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "Rules path is null");
+                }
+                return ScanEngine.getInstance(this).installContentRules(new File(rulesPath));
+            })
+            // Yalnızca sayaçları kopyalar; ana thread'de çalışabilir
+            .onMainThread("getScanMetrics", "UNAVAILABLE", "Error reading scan metrics",
+                call -> ScanMetrics.getInstance().snapshot())
+            .onMainThread("startScanService", "SERVICE_ERROR", "Error starting scan service", call -> {
+                boolean startInForeground = call.argument("foreground");
+                startScanService(startInForeground);
+                return true;
+            })
+            .onMainThread("stopScanService", "SERVICE_ERROR", "Error stopping scan service", call -> {
+                stopScanService();
+                return true;
+            })
+            .onMainThread("requestPermissions", "PERMISSION_ERROR", "Error requesting permissions", call -> {
+                requestPermissions();
+                return true;
+            });
+        new MethodChannel(flutterEngine.getDartExecutor().getBinaryMessenger(), CHANNEL)
+            .setMethodCallHandler(methodCallDispatcher);
+
+        // Uygulama listesini parti parti yayınlayan akış; büyük listelerde getInstalledApps yerine kullanılır
+        installedAppsStreamHandler = new InstalledAppsStreamHandler(this);
+        new EventChannel(flutterEngine.getDartExecutor().getBinaryMessenger(), InstalledAppsStreamHandler.CHANNEL)
+            .setStreamHandler(installedAppsStreamHandler);
+
+        // Büyük dizin taramaları sonuçları parti parti yayınlar; scanPaths küçük yol listeleri içindir
+        fileScanStreamHandler = new FileScanStreamHandler(this);
+        new EventChannel(flutterEngine.getDartExecutor().getBinaryMessenger(), FileScanStreamHandler.CHANNEL)
+            .setStreamHandler(fileScanStreamHandler);
+    }
+
+    @Override
+    public void cleanUpFlutterEngine(@NonNull FlutterEngine flutterEngine) {
+        super.cleanUpFlutterEngine(flutterEngine);
+        if (methodCallDispatcher != null) {
+            methodCallDispatcher.dispose();
+            methodCallDispatcher = null;
+        }
+        if (installedAppsStreamHandler != null) {
+            installedAppsStreamHandler.dispose();
+            installedAppsStreamHandler = null;
+        }
+        if (fileScanStreamHandler != null) {
+            fileScanStreamHandler.dispose();
+            fileScanStreamHandler = null;
+        }
     }
 
     private List<Map<String, Object>> getInstalledApplications() {
         List<Map<String, Object>> apps = new ArrayList<>();
         PackageManager packageManager = getPackageManager();
-        List<PackageInfo> packages = packageManager.getInstalledPackages(PackageManager.GET_PERMISSIONS);
+        // Sistem uygulamaları listelemede elenir; izinler paket başına istenir
+        List<PackageInfo> packages = PackageEnumerator.getInstance(this).getUserPackages(PermissionRiskEngine.PACKAGE_INFO_FLAGS);
+        PermissionRiskEngine riskEngine = PermissionRiskEngine.getDefault();
+        AppLabelCache labels = AppLabelCache.getInstance(this);
 
         for (PackageInfo packageInfo : packages) {
-            ApplicationInfo appInfo = packageInfo.applicationInfo;
-            
-            // Sistem uygulamalarını hariç tutmak için kontrol
-            if ((appInfo.flags & ApplicationInfo.FLAG_SYSTEM) == 0) {
-                Map<String, Object> appData = new HashMap<>();
-                appData.put("packageName", packageInfo.packageName);
-                appData.put("appName", appInfo.loadLabel(packageManager).toString());
-                appData.put("versionName", packageInfo.versionName);
-                appData.put("versionCode", packageInfo.versionCode);
-                appData.put("apkPath", appInfo.sourceDir);
-                appData.put("installedDate", packageInfo.firstInstallTime);
-                appData.put("lastUpdatedDate", packageInfo.lastUpdateTime);
-
-                // Uygulama izinlerini al
-                String[] permissions = packageInfo.requestedPermissions;
-                List<String> permissionList = new ArrayList<>();
-                if (permissions != null) {
-                    for (String permission : permissions) {
-                        permissionList.add(permission);
-                    }
-                }
-                appData.put("permissions", permissionList);
-                
-                apps.add(appData);
-            }
+            apps.add(InstalledApps.toMap(packageManager, labels, packageInfo, riskEngine));
         }
+        labels.save();
         
         return apps;
     }
 
     private Map<String, Object> scanFile(String filePath) {
-        Map<String, Object> result = new HashMap<>();
-        File file = new File(filePath);
-        
-        if (!file.exists()) {
-            result.put("status", "ERROR");
-            result.put("message", "File does not exist");
-            return result;
+        // Öznitelikler tek bir stat çağrısıyla okunur
+        return FileScanStreamHandler.toMap(new FileScanner(ScanEngine.getInstance(this)).scanFile(filePath));
+    }
+
+    private List<Map<String, Object>> scanPaths(Map<?, ?> args) throws MethodCallDispatcher.CallException {
+        List<String> paths = FileScanStreamHandler.pathsFrom(args);
+        if (paths.isEmpty()) {
+            throw new MethodCallDispatcher.CallException("INVALID_ARGUMENT", "No paths to scan");
         }
-        
-        // Dosya hakkında bilgi topla
-        result.put("filePath", filePath);
-        result.put("fileName", file.getName());
-        result.put("fileSize", file.length());
-        result.put("lastModified", file.lastModified());
-        result.put("isReadable", file.canRead());
-        result.put("isExecutable", file.canExecute());
-        
-        // Normalde burada dosya hash'i çıkarılıp tehdit veritabanıyla karşılaştırılır
-        // Bu örnek için basit bir simülasyon yapıyoruz
-        result.put("status", "CLEAN");
-        result.put("message", "No threats detected");
-        
-        return result;
+        List<Map<String, Object>> results = new ArrayList<>();
+        new FileScanner(ScanEngine.getInstance(this)).scanPaths(paths, FileScanStreamHandler.filterFrom(args), 256, new AtomicBoolean(),
+            batch -> results.addAll(FileScanStreamHandler.toMaps(batch)));
+        return results;
+    }
+
+    private long applySignatureDelta(String deltaPath, boolean certificates) throws IOException {
+        SignatureStore store = certificates
+            ? SignatureStore.forCertificates(this)
+            : SignatureStore.forApkHashes(this);
+        if (store.applyDelta(new File(deltaPath)) > 0) {
+            // Kaldırılan bir imzayla verilmiş şüpheli kararlar önbellekte kalmasın
+            ScanEngine.getInstance(this).clearVerdictCache();
+        }
+        return store.getVersion();
     }
 
     private void startScanService(boolean foreground) {
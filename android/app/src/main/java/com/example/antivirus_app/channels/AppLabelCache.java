@@ -0,0 +1,203 @@
+package com.example.antivirus_app.channels;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Uygulama adlarını diskte ve bellekte saklayan önbellek.
+ *
+ * {@code loadLabel} her uygulamanın kaynaklarını yükler ve uygulama listesinin
+ * asıl maliyetidir. Kayıtlar (paket adı, lastUpdateTime) ile eşleşir; uygulama
+ * güncellendiğinde kayıt kendiliğinden geçersiz olur. Ad dile bağlı
+ * olduğundan önbellek yazıldığı dil ile saklanır ve varsayılan dil değiştiğinde
+ * boşaltılır. Kaldırılan paketler {@link #invalidate} ile silinir. Dosya biçimi:
+ *
+ * <pre>
+ * int magic, int version, UTF languageTag, int count
+ * count x { UTF packageName, long lastUpdateTime, UTF label }
+ * long crc32
+ * </pre>
+ */
+public final class AppLabelCache {
+    private static final String TAG = "AppLabelCache";
+    private static final String CACHE_FILE = "app_labels.bin";
+    private static final int MAGIC = 0x414C4331; // "ALC1"
+    private static final int FORMAT_VERSION = 1;
+
+    private static volatile AppLabelCache instance;
+
+    private final File file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private Locale locale;
+    private boolean loaded;
+    private boolean dirty;
+
+    private AppLabelCache(File file) {
+        this.file = file;
+    }
+
+    public static AppLabelCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AppLabelCache.class) {
+                if (instance == null) {
+                    instance = new AppLabelCache(new File(context.getApplicationContext().getFilesDir(), CACHE_FILE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Uygulamanın adını döner; önbellekte güncel kayıt yoksa {@code loadLabel}
+     * ile yükleyip saklar. Kaynak okuyabileceği için ana thread'den
+     * çağrılmamalıdır.
+     */
+    public String getLabel(PackageManager packageManager, PackageInfo packageInfo) {
+        synchronized (this) {
+            ensureLoaded();
+            Entry entry = entries.get(packageInfo.packageName);
+            if (entry != null && entry.lastUpdateTime == packageInfo.lastUpdateTime) {
+                return entry.label;
+            }
+        }
+
+        String label = packageInfo.applicationInfo.loadLabel(packageManager).toString();
+        synchronized (this) {
+            entries.put(packageInfo.packageName, new Entry(packageInfo.lastUpdateTime, label));
+            dirty = true;
+        }
+        return label;
+    }
+
+    /**
+     * Paketin kaydını siler; kaldırma ve güncelleme yayınlarında çağrılır.
+     */
+    public synchronized void invalidate(String packageName) {
+        ensureLoaded();
+        if (entries.remove(packageName) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Değişiklik varsa önbelleği geçici bir dosyaya yazıp atomik olarak
+     * yerine taşır. Yazılamazsa önbellek yalnızca bellekte kalır.
+     */
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            FileOutputStream fileOut = new FileOutputStream(tmp);
+            try {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(locale.toLanguageTag());
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeLong(e.getValue().lastUpdateTime);
+                    out.writeUTF(e.getValue().label);
+                }
+                out.flush();
+                out.writeLong(checked.getChecksum().getValue());
+                out.flush();
+                fileOut.getFD().sync();
+            } finally {
+                fileOut.close();
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            tmp.delete();
+            Log.w(TAG, "Could not save app label cache", e);
+        }
+    }
+
+    /**
+     * İlk kullanımda dosyayı yükler; varsayılan dil değiştiyse kayıtları boşaltır.
+     */
+    private void ensureLoaded() {
+        Locale current = Locale.getDefault();
+        if (!loaded) {
+            loaded = true;
+            locale = current;
+            if (file.exists()) {
+                try {
+                    load();
+                } catch (IOException e) {
+                    Log.w(TAG, "Discarding unreadable app label cache", e);
+                    entries.clear();
+                    dirty = true;
+                }
+            }
+        } else if (!current.equals(locale)) {
+            Log.d(TAG, "Locale changed to " + current + ", clearing app labels");
+            locale = current;
+            entries.clear();
+            dirty = true;
+        }
+    }
+
+    private void load() throws IOException {
+        try (FileInputStream fileIn = new FileInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileIn), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown app label cache format");
+            }
+            if (!locale.toLanguageTag().equals(in.readUTF())) {
+                // Adlar başka bir dil için yüklenmiş
+                dirty = true;
+                return;
+            }
+            int count = in.readInt();
+            Map<String, Entry> loadedEntries = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String packageName = in.readUTF();
+                long lastUpdateTime = in.readLong();
+                loadedEntries.put(packageName, new Entry(lastUpdateTime, in.readUTF()));
+            }
+            long expectedCrc = checked.getChecksum().getValue();
+            if (in.readLong() != expectedCrc) {
+                throw new IOException("App label cache checksum mismatch");
+            }
+            entries.putAll(loadedEntries);
+        }
+        Log.d(TAG, "Loaded " + entries.size() + " app labels");
+    }
+
+    private static final class Entry {
+        final long lastUpdateTime;
+        final String label;
+
+        Entry(long lastUpdateTime, String label) {
+            this.lastUpdateTime = lastUpdateTime;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.antivirus_app.channels;
+
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flutter köprüsünden geçen kayıtlar için şema tabanlı ikili yazıcı.
+ *
+ * Biçim (little-endian):
+ *
+ * <pre>
+ * u8     formatVersion
+ * u8     recordType
+ * varint stringCount
+ * { varint byteLength, byte[] utf8 }*   string tablosu
+ * varint recordCount
+ * kayıtlar                              alan sırası recordType'a göre sabittir
+ * </pre>
+ *
+ * Kayıtlardaki stringler tabloya (indeks + 1) ile başvurur, 0 null demektir;
+ * böylece izin adları gibi tekrar eden değerler bir kez yazılır. Tam sayılar
+ * zigzag varint, zaman damgaları ve boyutlar sabit 8 bayt olarak yazılır.
+ * Dart tarafındaki karşılığı {@code lib/models/binary_record_reader.dart}'tır.
+ */
+final class BinaryRecordWriter {
+    static final int FORMAT_VERSION = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private byte[] body = new byte[4096];
+    private int length;
+
+    void writeString(@Nullable String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = strings.size() + 1;
+            stringIds.put(value, id);
+            strings.add(value);
+        }
+        writeVarint(id);
+    }
+
+    void writeInt(int value) {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            body[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body[length++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            body[length++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        body[length++] = (byte) value;
+    }
+
+    /**
+     * Başlığı ve string tablosunu kayıtların önüne ekleyerek mesajı tamamlar.
+     */
+    byte[] finish(int recordType, int recordCount) {
+        byte[] recordBytes = Arrays.copyOf(body, length);
+        body = new byte[4096];
+        length = 0;
+
+        writeByte(FORMAT_VERSION);
+        writeByte(recordType);
+        writeVarint(strings.size());
+        for (String value : strings) {
+            byte[] utf8 = value.getBytes(UTF_8);
+            writeVarint(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, body, length, utf8.length);
+            length += utf8.length;
+        }
+        writeVarint(recordCount);
+
+        byte[] message = Arrays.copyOf(body, length + recordBytes.length);
+        System.arraycopy(recordBytes, 0, message, length, recordBytes.length);
+        return message;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > body.length) {
+            body = Arrays.copyOf(body, Math.max(body.length * 2, length + extra));
+        }
+    }
+}
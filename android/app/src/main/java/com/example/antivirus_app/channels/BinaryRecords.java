@@ -0,0 +1,99 @@
+package com.example.antivirus_app.channels;
+
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+
+import com.example.antivirus_app.scanner.PermissionRiskEngine;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kanal yanıtlarının ikili kodlamaları. Alan sıraları Dart tarafındaki
+ * çözücülerle ({@code AppInfo.decodeList}, {@code ScanResult.decodeFileScan})
+ * birebir eşleşmelidir; değiştirilirse {@link BinaryRecordWriter#FORMAT_VERSION}
+ * artırılmalıdır.
+ */
+public final class BinaryRecords {
+    public static final int RECORD_INSTALLED_APP = 1;
+    public static final int RECORD_FILE_SCAN = 2;
+
+    private static final int FILE_READABLE = 1;
+    private static final int FILE_EXECUTABLE = 1 << 1;
+
+    private BinaryRecords() {
+    }
+
+    /**
+     * Kullanıcı uygulamalarını kodlar. Kayıt başına alanlar: packageName,
+     * appName, versionName, versionCode, apkPath, apkSize, installedDate,
+     * lastUpdatedDate, riskScore, permissions[], riskFactors[].
+     */
+    public static byte[] encodeInstalledApps(PackageManager packageManager, AppLabelCache labels,
+                                             List<PackageInfo> packages, PermissionRiskEngine riskEngine) {
+        BinaryRecordWriter writer = new BinaryRecordWriter();
+        int count = 0;
+        for (PackageInfo packageInfo : packages) {
+            if (!InstalledApps.isUserApp(packageInfo)) {
+                continue;
+            }
+            ApplicationInfo appInfo = packageInfo.applicationInfo;
+            writer.writeString(packageInfo.packageName);
+            writer.writeString(labels.getLabel(packageManager, packageInfo));
+            writer.writeString(packageInfo.versionName);
+            writer.writeInt(packageInfo.versionCode);
+            writer.writeString(appInfo.sourceDir);
+            writer.writeLong(appInfo.sourceDir != null ? new File(appInfo.sourceDir).length() : 0);
+            writer.writeLong(packageInfo.firstInstallTime);
+            writer.writeLong(packageInfo.lastUpdateTime);
+
+            String[] permissions = packageInfo.requestedPermissions;
+            long[] permissionBits = riskEngine.toBits(packageInfo);
+            writer.writeInt(riskEngine.score(permissionBits));
+            if (permissions == null) {
+                writer.writeVarint(0);
+            } else {
+                writer.writeVarint(permissions.length);
+                for (String permission : permissions) {
+                    writer.writeString(permission);
+                }
+            }
+            List<String> riskFactors = riskEngine.matchedCombinations(permissionBits);
+            writer.writeVarint(riskFactors.size());
+            for (String factor : riskFactors) {
+                writer.writeString(factor);
+            }
+            count++;
+        }
+        return writer.finish(RECORD_INSTALLED_APP, count);
+    }
+
+    /**
+     * {@code scanFile} sonucunu kodlar. Alanlar: filePath, fileName, fileSize,
+     * lastModified, flags (okunabilir, çalıştırılabilir), status, message.
+     */
+    public static byte[] encodeFileScan(Map<String, Object> result) {
+        BinaryRecordWriter writer = new BinaryRecordWriter();
+        writer.writeString((String) result.get("filePath"));
+        writer.writeString((String) result.get("fileName"));
+        writer.writeLong(longValue(result.get("fileSize")));
+        writer.writeLong(longValue(result.get("lastModified")));
+        int flags = 0;
+        if (Boolean.TRUE.equals(result.get("isReadable"))) {
+            flags |= FILE_READABLE;
+        }
+        if (Boolean.TRUE.equals(result.get("isExecutable"))) {
+            flags |= FILE_EXECUTABLE;
+        }
+        writer.writeByte(flags);
+        writer.writeString((String) result.get("status"));
+        writer.writeString((String) result.get("message"));
+        return writer.finish(RECORD_FILE_SCAN, 1);
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.antivirus_app.channels;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.antivirus_app.scanner.ScanEngine;
+import com.example.antivirus_app.scanner.fs.FileScanFilter;
+import com.example.antivirus_app.scanner.fs.FileScanResult;
+import com.example.antivirus_app.scanner.fs.FileScanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Dosya ve dizin taramalarını {@link EventChannel} üzerinden parti parti yayınlar.
+ *
+ * Argümanlar: {@code paths} (zorunlu), {@code extensions}, {@code minSize},
+ * {@code maxSize}, {@code magic} (bayt önekleri listesi), {@code batchSize}.
+ * Her olay {@code scanFile} ile aynı biçimde kayıtlardan oluşan bir
+ * {@code List<Map>} partisidir; tarama bitince akış kapatılır.
+ */
+public final class FileScanStreamHandler implements EventChannel.StreamHandler {
+    public static final String CHANNEL = "com.example.antivirus_app/file_scan";
+
+    private static final String TAG = "FileScanStream";
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private AtomicBoolean activeListen;
+
+    public FileScanStreamHandler(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        cancelActive();
+        if (!(arguments instanceof Map)) {
+            events.error("INVALID_ARGUMENT", "Scan arguments are missing", null);
+            return;
+        }
+        Map<?, ?> args = (Map<?, ?>) arguments;
+        List<String> paths = pathsFrom(args);
+        if (paths.isEmpty()) {
+            events.error("INVALID_ARGUMENT", "No paths to scan", null);
+            return;
+        }
+        FileScanFilter filter = filterFrom(args);
+        Object requested = args.get("batchSize");
+        int batchSize = requested instanceof Integer && (Integer) requested > 0 ? (Integer) requested : DEFAULT_BATCH_SIZE;
+
+        AtomicBoolean cancelled = new AtomicBoolean();
+        activeListen = cancelled;
+        executor.execute(() -> {
+            try {
+                new FileScanner(ScanEngine.getInstance(context)).scanPaths(paths, filter, batchSize, cancelled, batch -> {
+                    List<Map<String, Object>> maps = toMaps(batch);
+                    mainHandler.post(() -> {
+                        if (!cancelled.get()) {
+                            events.success(maps);
+                        }
+                    });
+                });
+                mainHandler.post(() -> {
+                    if (!cancelled.get()) {
+                        events.endOfStream();
+                    }
+                });
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Error scanning paths", e);
+                mainHandler.post(() -> {
+                    if (!cancelled.get()) {
+                        events.error("SCAN_ERROR", "Error scanning paths: " + e.getMessage(), null);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        cancelActive();
+    }
+
+    public void dispose() {
+        cancelActive();
+        executor.shutdownNow();
+    }
+
+    private void cancelActive() {
+        if (activeListen != null) {
+            activeListen.set(true);
+            activeListen = null;
+        }
+    }
+
+    public static List<String> pathsFrom(Map<?, ?> args) {
+        Object value = args.get("paths");
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<String> paths = new ArrayList<>();
+        for (Object path : (List<?>) value) {
+            if (path instanceof String) {
+                paths.add((String) path);
+            }
+        }
+        return paths;
+    }
+
+    public static FileScanFilter filterFrom(Map<?, ?> args) {
+        FileScanFilter.Builder builder = new FileScanFilter.Builder();
+        Object extensions = args.get("extensions");
+        if (extensions instanceof List) {
+            List<String> values = new ArrayList<>();
+            for (Object extension : (List<?>) extensions) {
+                if (extension instanceof String) {
+                    values.add((String) extension);
+                }
+            }
+            builder.extensions(values);
+        }
+        Object minSize = args.get("minSize");
+        if (minSize instanceof Number) {
+            builder.minSize(((Number) minSize).longValue());
+        }
+        Object maxSize = args.get("maxSize");
+        if (maxSize instanceof Number) {
+            builder.maxSize(((Number) maxSize).longValue());
+        }
+        Object magic = args.get("magic");
+        if (magic instanceof List) {
+            for (Object prefix : (List<?>) magic) {
+                if (prefix instanceof byte[]) {
+                    builder.magicPrefix((byte[]) prefix);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public static List<Map<String, Object>> toMaps(List<FileScanResult> results) {
+        List<Map<String, Object>> maps = new ArrayList<>(results.size());
+        for (FileScanResult result : results) {
+            maps.add(toMap(result));
+        }
+        return maps;
+    }
+
+    /**
+     * Sonucu {@code scanFile} yanıtının alan adlarıyla kayda dönüştürür.
+     */
+    public static Map<String, Object> toMap(FileScanResult result) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("status", result.getStatus());
+        map.put("message", result.getMessage());
+        if (FileScanResult.STATUS_ERROR.equals(result.getStatus()) && result.getName() == null) {
+            return map;
+        }
+        map.put("filePath", result.getPath());
+        map.put("fileName", result.getName());
+        map.put("fileSize", result.getSize());
+        map.put("lastModified", result.getLastModified());
+        map.put("isReadable", result.isReadable());
+        map.put("isExecutable", result.isExecutable());
+        map.put("fileType", result.getType().name());
+        return map;
+    }
+}
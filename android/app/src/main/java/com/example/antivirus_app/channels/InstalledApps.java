@@ -0,0 +1,49 @@
+package com.example.antivirus_app.channels;
+
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+
+import com.example.antivirus_app.scanner.PermissionRiskEngine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kurulu uygulamaları Flutter'a gönderilecek kayıtlara dönüştürür.
+ */
+public final class InstalledApps {
+    private InstalledApps() {
+    }
+
+    public static boolean isUserApp(PackageInfo packageInfo) {
+        return (packageInfo.applicationInfo.flags & ApplicationInfo.FLAG_SYSTEM) == 0;
+    }
+
+    /**
+     * Tek bir uygulamanın kaydını oluşturur. Önbellekte olmayan adlar
+     * {@code loadLabel} ile kaynaktan okunduğu için ana thread'den çağrılmamalıdır.
+     */
+    public static Map<String, Object> toMap(PackageManager packageManager, AppLabelCache labels,
+                                            PackageInfo packageInfo, PermissionRiskEngine riskEngine) {
+        ApplicationInfo appInfo = packageInfo.applicationInfo;
+        Map<String, Object> appData = new HashMap<>();
+        appData.put("packageName", packageInfo.packageName);
+        appData.put("appName", labels.getLabel(packageManager, packageInfo));
+        appData.put("versionName", packageInfo.versionName);
+        appData.put("versionCode", packageInfo.versionCode);
+        appData.put("apkPath", appInfo.sourceDir);
+        appData.put("installedDate", packageInfo.firstInstallTime);
+        appData.put("lastUpdatedDate", packageInfo.lastUpdateTime);
+
+        // Uygulama izinlerini al; dizi kopyalanmadan liste görünümüyle aktarılır
+        String[] permissions = packageInfo.requestedPermissions;
+        appData.put("permissions", permissions != null ? Arrays.asList(permissions) : Collections.emptyList());
+        long[] permissionBits = riskEngine.toBits(packageInfo);
+        appData.put("riskScore", riskEngine.score(permissionBits));
+        appData.put("riskFactors", riskEngine.matchedCombinations(permissionBits));
+        return appData;
+    }
+}
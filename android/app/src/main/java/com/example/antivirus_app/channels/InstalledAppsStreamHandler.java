@@ -0,0 +1,138 @@
+package com.example.antivirus_app.channels;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.antivirus_app.scanner.PackageEnumerator;
+import com.example.antivirus_app.scanner.PermissionRiskEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Kurulu uygulamaları {@link EventChannel} üzerinden parti parti yayınlar.
+ *
+ * Listeleme, paket başına izin sorgusu ve {@code loadLabel} çağrıları arka
+ * plan thread'inde yapılır; her parti hazır olduğunda ana thread'e gönderilir. İlk parti küçük tutulur ki
+ * ilk satırlar Flutter'a hemen ulaşsın. Dinleyici iptal ederse kalan iş
+ * bırakılır. Her olay bir {@code List<Map>} partisidir; liste bitince akış
+ * kapatılır.
+ */
+public final class InstalledAppsStreamHandler implements EventChannel.StreamHandler {
+    public static final String CHANNEL = "com.example.antivirus_app/installed_apps";
+
+    private static final String TAG = "InstalledAppsStream";
+    private static final int FIRST_BATCH_SIZE = 8;
+    private static final int DEFAULT_BATCH_SIZE = 32;
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private AtomicBoolean activeListen;
+
+    public InstalledAppsStreamHandler(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public void onListen(Object arguments, EventChannel.EventSink events) {
+        int batchSize = DEFAULT_BATCH_SIZE;
+        if (arguments instanceof Map) {
+            Object requested = ((Map<?, ?>) arguments).get("batchSize");
+            if (requested instanceof Integer && (Integer) requested > 0) {
+                batchSize = (Integer) requested;
+            }
+        }
+
+        cancelActive();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        activeListen = cancelled;
+        int size = batchSize;
+        executor.execute(() -> stream(events, cancelled, size));
+    }
+
+    @Override
+    public void onCancel(Object arguments) {
+        cancelActive();
+    }
+
+    /**
+     * Devam eden yayını durdurur ve arka plan thread'ini kapatır.
+     */
+    public void dispose() {
+        cancelActive();
+        executor.shutdownNow();
+    }
+
+    private void cancelActive() {
+        if (activeListen != null) {
+            activeListen.set(true);
+            activeListen = null;
+        }
+    }
+
+    private void stream(EventChannel.EventSink events, AtomicBoolean cancelled, int batchSize) {
+        try {
+            PackageManager packageManager = context.getPackageManager();
+            PermissionRiskEngine riskEngine = PermissionRiskEngine.getDefault();
+            AppLabelCache labels = AppLabelCache.getInstance(context);
+            // Temel liste tek çağrıda gelir; izinler her paket için parti döngüsünde sorgulanır
+            List<PackageInfo> packages = PackageEnumerator.getInstance(context).getUserPackages(0);
+
+            int limit = Math.min(FIRST_BATCH_SIZE, batchSize);
+            List<Map<String, Object>> batch = new ArrayList<>(limit);
+            for (PackageInfo listed : packages) {
+                if (cancelled.get()) {
+                    return;
+                }
+                PackageInfo packageInfo;
+                try {
+                    packageInfo = packageManager.getPackageInfo(listed.packageName, PermissionRiskEngine.PACKAGE_INFO_FLAGS);
+                } catch (PackageManager.NameNotFoundException e) {
+                    // Listeleme ile sorgu arasında kaldırıldı
+                    continue;
+                }
+                batch.add(InstalledApps.toMap(packageManager, labels, packageInfo, riskEngine));
+                if (batch.size() >= limit) {
+                    post(cancelled, batch, events);
+                    limit = batchSize;
+                    batch = new ArrayList<>(limit);
+                }
+            }
+            if (!batch.isEmpty()) {
+                post(cancelled, batch, events);
+            }
+            labels.save();
+            mainHandler.post(() -> {
+                if (!cancelled.get()) {
+                    events.endOfStream();
+                }
+            });
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error streaming installed apps", e);
+            mainHandler.post(() -> {
+                if (!cancelled.get()) {
+                    events.error("UNAVAILABLE", "Error getting installed apps: " + e.getMessage(), null);
+                }
+            });
+        }
+    }
+
+    private void post(AtomicBoolean cancelled, List<Map<String, Object>> batch, EventChannel.EventSink events) {
+        mainHandler.post(() -> {
+            if (!cancelled.get()) {
+                events.success(batch);
+            }
+        });
+    }
+}
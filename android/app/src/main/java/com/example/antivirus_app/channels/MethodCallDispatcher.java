@@ -0,0 +1,265 @@
+package com.example.antivirus_app.channels;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * MethodChannel çağrılarını metot adına göre yönlendiren dağıtıcı.
+ *
+ * Ağır metotlar arka plan thread'lerinde, metot başına eşzamanlılık sınırıyla
+ * çalıştırılır; sınır doluyken gelen çağrılar sıraya alınır. Sonuçlar ana
+ * thread'e gönderilir ve her çağrıya en fazla bir kez yanıt verilir.
+ *
+ * Argümanlarında {@value #ARG_CALL_ID} bulunan çağrılar Dart tarafından
+ * {@value #CANCEL_METHOD} ile iptal edilebilir: sıradaki çağrı hiç başlamaz,
+ * çalışan çağrının thread'i kesilir ve çağrı "CANCELLED" hatasıyla yanıtlanır.
+ * Flutter motoru ayrıldığında {@link #dispose()} bekleyen tüm çağrıları
+ * yanıt vermeden bırakır.
+ */
+public final class MethodCallDispatcher implements MethodChannel.MethodCallHandler {
+    public static final String ARG_CALL_ID = "callId";
+    public static final String CANCEL_METHOD = "cancelCall";
+
+    private static final String TAG = "MethodCallDispatcher";
+
+    /**
+     * Tek bir kanal metodunun gövdesi. Dönen değer Flutter'a sonuç olarak gönderilir.
+     */
+    public interface CallHandler {
+        @Nullable
+        Object handle(MethodCall call) throws Exception;
+    }
+
+    /**
+     * Belirli bir hata koduyla yanıtlanması gereken hatalar için.
+     */
+    public static final class CallException extends Exception {
+        private final String code;
+
+        public CallException(String code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private final Map<String, Route> routes = new HashMap<>();
+    private final Map<Object, PendingCall> callsById = new ConcurrentHashMap<>();
+    private final Set<PendingCall> activeCalls = Collections.newSetFromMap(new ConcurrentHashMap<PendingCall, Boolean>());
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newCachedThreadPool(new WorkerThreadFactory());
+
+    /**
+     * Hafif metodu doğrudan ana thread'de çalışacak şekilde kaydeder.
+     */
+    public MethodCallDispatcher onMainThread(String method, String errorCode, String errorMessage, CallHandler handler) {
+        routes.put(method, new Route(handler, 0, errorCode, errorMessage));
+        return this;
+    }
+
+    /**
+     * Metodu en fazla {@code maxConcurrent} eşzamanlı çağrıyla arka planda
+     * çalışacak şekilde kaydeder.
+     */
+    public MethodCallDispatcher inBackground(String method, int maxConcurrent, String errorCode, String errorMessage, CallHandler handler) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        routes.put(method, new Route(handler, maxConcurrent, errorCode, errorMessage));
+        return this;
+    }
+
+    @Override
+    public void onMethodCall(MethodCall call, MethodChannel.Result result) {
+        if (CANCEL_METHOD.equals(call.method)) {
+            result.success(cancel(call.argument(ARG_CALL_ID)));
+            return;
+        }
+        Route route = routes.get(call.method);
+        if (route == null) {
+            result.notImplemented();
+            return;
+        }
+
+        if (route.maxConcurrent == 0) {
+            try {
+                result.success(route.handler.handle(call));
+            } catch (CallException e) {
+                result.error(e.getCode(), e.getMessage(), null);
+            } catch (Exception e) {
+                Log.e(TAG, route.errorMessage, e);
+                result.error(route.errorCode, route.errorMessage + ": " + e.getMessage(), null);
+            }
+            return;
+        }
+
+        Object callId = call.hasArgument(ARG_CALL_ID) ? call.argument(ARG_CALL_ID) : null;
+        PendingCall pending = new PendingCall(call, result, route, callId);
+        activeCalls.add(pending);
+        if (callId != null) {
+            callsById.put(callId, pending);
+        }
+        route.submit(pending);
+    }
+
+    /**
+     * Kimliği verilen çağrıyı iptal eder; çağrı bulunamadıysa veya zaten
+     * tamamlandıysa false döner.
+     */
+    public boolean cancel(@Nullable Object callId) {
+        PendingCall pending = callId != null ? callsById.get(callId) : null;
+        return pending != null && pending.cancel(true);
+    }
+
+    /**
+     * Bekleyen tüm çağrıları yanıtsız iptal eder ve thread'leri kapatır.
+     */
+    public void dispose() {
+        for (PendingCall pending : activeCalls) {
+            pending.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+    private final class Route {
+        final CallHandler handler;
+        final int maxConcurrent;
+        final String errorCode;
+        final String errorMessage;
+        private final ArrayDeque<PendingCall> queued = new ArrayDeque<>();
+        private int running;
+
+        Route(CallHandler handler, int maxConcurrent, String errorCode, String errorMessage) {
+            this.handler = handler;
+            this.maxConcurrent = maxConcurrent;
+            this.errorCode = errorCode;
+            this.errorMessage = errorMessage;
+        }
+
+        synchronized void submit(PendingCall pending) {
+            if (running < maxConcurrent) {
+                running++;
+                executor.execute(pending);
+            } else {
+                queued.add(pending);
+            }
+        }
+
+        synchronized void release() {
+            PendingCall next = queued.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+            try {
+                executor.execute(next);
+            } catch (RejectedExecutionException e) {
+                // dispose() sonrası kalan sıra yanıtsız bırakılır
+                running--;
+            }
+        }
+    }
+
+    private final class PendingCall implements Runnable {
+        private final MethodCall call;
+        private final MethodChannel.Result result;
+        private final Route route;
+        @Nullable
+        private final Object callId;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private Thread worker;
+
+        PendingCall(MethodCall call, MethodChannel.Result result, Route route, @Nullable Object callId) {
+            this.call = call;
+            this.result = result;
+            this.route = route;
+            this.callId = callId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (finished.get()) {
+                        return;
+                    }
+                    worker = Thread.currentThread();
+                }
+                Object value = route.handler.handle(call);
+                if (finished.compareAndSet(false, true)) {
+                    mainHandler.post(() -> result.success(value));
+                }
+            } catch (CallException e) {
+                if (finished.compareAndSet(false, true)) {
+                    mainHandler.post(() -> result.error(e.getCode(), e.getMessage(), null));
+                }
+            } catch (Exception e) {
+                if (finished.compareAndSet(false, true)) {
+                    Log.e(TAG, route.errorMessage, e);
+                    mainHandler.post(() -> result.error(route.errorCode, route.errorMessage + ": " + e.getMessage(), null));
+                }
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                    // İptal kesmesi havuz thread'inde bir sonraki çağrıya sızmasın
+                    Thread.interrupted();
+                }
+                complete();
+                route.release();
+            }
+        }
+
+        boolean cancel(boolean reply) {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            synchronized (this) {
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+            if (reply) {
+                mainHandler.post(() -> result.error("CANCELLED", "Call " + call.method + " was cancelled", null));
+            }
+            complete();
+            return true;
+        }
+
+        private void complete() {
+            activeCalls.remove(this);
+            if (callId != null) {
+                callsById.remove(callId, this);
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "channel-worker-" + count.incrementAndGet());
+        }
+    }
+}
@@ -6,7 +6,9 @@ import android.content.Intent;
 import android.content.SharedPreferences;
 import android.os.Build;
 import android.util.Log;
+import com.example.antivirus_app.scanner.ScanJournal;
 import com.example.antivirus_app.services.ScanForegroundService;
+import com.example.antivirus_app.work.ScanScheduler;
 
 public class BootCompletedReceiver extends BroadcastReceiver {
     private static final String TAG = "BootCompletedReceiver";
@@ -25,7 +27,7 @@ public class BootCompletedReceiver extends BroadcastReceiver {
             if (serviceEnabled) {
                 Log.d(TAG, "Starting service on boot");
                 
-                // Tarama servisini başlat
+                // Tarama servisini başlat; yarım kalan tarama servis içinde sürdürülür
                 Intent serviceIntent = new Intent(context, ScanForegroundService.class);
                 serviceIntent.setAction(ScanForegroundService.ACTION_START_FOREGROUND);
                 
@@ -36,6 +38,10 @@ public class BootCompletedReceiver extends BroadcastReceiver {
                 }
             } else {
                 Log.d(TAG, "Service disabled by user, not starting on boot");
+                // Kapanıştan önce yarım kalan taramayı servis olmadan tamamla
+                if (ScanJournal.hasPending(context, ScanForegroundService.SCAN_JOURNAL)) {
+                    ScanScheduler.resumePending(context, ScanForegroundService.SCAN_JOURNAL);
+                }
             }
         }
     }
@@ -4,10 +4,12 @@ import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
-import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
-import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
 import android.util.Log;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
@@ -17,15 +19,53 @@ import android.app.Notification;
 import com.example.antivirus_app.Application;
 import com.example.antivirus_app.MainActivity;
 import com.example.antivirus_app.R;
+import com.example.antivirus_app.channels.AppLabelCache;
+import com.example.antivirus_app.scanner.ApkHashes;
+import com.example.antivirus_app.scanner.AppVerdict;
+import com.example.antivirus_app.scanner.HeuristicPatterns;
+import com.example.antivirus_app.scanner.KeywordMatcher;
+import com.example.antivirus_app.scanner.PermissionRiskEngine;
+import com.example.antivirus_app.scanner.ScanEngine;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 
+/**
+ * Kurulan veya güncellenen uygulamaları ortak {@link ScanEngine} ile tarar.
+ *
+ * Yayın {@link #goAsync()} ile açık tutulur ve analiz arka plan thread'inde
+ * yapılır. Play Store toplu güncellemelerinde art arda gelen yayınlar
+ * {@link #COALESCE_MS} boyunca biriktirilip tek seferde taranır. Her paket
+ * için özet, imza ve izin analizi yapılır ve karar önbelleği güncellenir;
+ * böylece periyodik tarama bu paketleri yeniden analiz etmez. Bekleyen
+ * yayınlar, ilk yayından en geç {@link #FINISH_DEADLINE_MS} sonra ana
+ * thread'den sonlandırılır; uzun süren tek bir APK taraması da yayın zaman
+ * aşımına yol açmaz. Tarama yayın sonlandıktan sonra arka planda sürer.
+ * Bir paketin analizindeki beklenmeyen hatalar diğer paketleri ve süreci
+ * etkilemez.
+ */
 public class PackageChangeReceiver extends BroadcastReceiver {
     private static final String TAG = "PackageChangeReceiver";
     private static final String PREF_FILE = "com.example.antivirus_app.preferences";
     private static final String PREF_APP_SCAN_ENABLED = "app_scan_enabled";
-    private static final int NOTIFICATION_ID = 2001;
+    private static final long COALESCE_MS = 500;
+    private static final long FINISH_DEADLINE_MS = 8000;
+
+    // Uygulama süreci boyunca tüm yayınlar tek bir kuyrukta toplanır
+    private static final Object lock = new Object();
+    private static final LinkedHashSet<String> pendingPackages = new LinkedHashSet<>();
+    private static final List<PendingResult> pendingResults = new ArrayList<>();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final Runnable finishOverdue = () -> {
+        synchronized (lock) {
+            finishPending();
+        }
+    };
+    private static Handler scanHandler;
+    private static boolean drainScheduled;
 
     @Override
     public void onReceive(Context context, Intent intent) {
@@ -49,63 +89,151 @@ public class PackageChangeReceiver extends BroadcastReceiver {
             String packageName = intent.getData().getSchemeSpecificPart();
             Log.d(TAG, "Package event: " + action + " for " + packageName);
             
+            enqueue(context.getApplicationContext(), packageName, goAsync());
+        } else if (action.equals(Intent.ACTION_PACKAGE_FULLY_REMOVED)) {
+            // Güncellemelerde ad önbelleği lastUpdateTime ile yenilenir; kaldırılan paketler silinir
+            String packageName = intent.getData().getSchemeSpecificPart();
+            Context appContext = context.getApplicationContext();
+            PendingResult result = goAsync();
+            scanHandler().post(() -> {
+                AppLabelCache labels = AppLabelCache.getInstance(appContext);
+                labels.invalidate(packageName);
+                labels.save();
+                result.finish();
+            });
+        }
+    }
+
+    private static Handler scanHandler() {
+        synchronized (lock) {
+            if (scanHandler == null) {
+                HandlerThread thread = new HandlerThread("package-scan", Process.THREAD_PRIORITY_BACKGROUND);
+                thread.start();
+                scanHandler = new Handler(thread.getLooper());
+            }
+            return scanHandler;
+        }
+    }
+
+    private static void enqueue(Context context, String packageName, PendingResult result) {
+        synchronized (lock) {
+            if (pendingResults.isEmpty()) {
+                // Tarama thread'i uzun bir APK ile meşgul olabileceğinden süre ana thread'de tutulur
+                mainHandler.postDelayed(finishOverdue, FINISH_DEADLINE_MS);
+            }
+            pendingPackages.add(packageName);
+            pendingResults.add(result);
+            if (!drainScheduled) {
+                drainScheduled = true;
+                scanHandler().postDelayed(() -> drain(context), COALESCE_MS);
+            }
+        }
+    }
+
+    /**
+     * Biriken tüm paketleri tarar. Tarama sürerken gelen yayınlar aynı
+     * döngüde işlenir.
+     */
+    private static void drain(Context context) {
+        ScanEngine engine = ScanEngine.getInstance(context);
+        PackageManager packageManager = context.getPackageManager();
+        int scanned = 0;
+        try {
+            while (true) {
+                String packageName;
+                synchronized (lock) {
+                    Iterator<String> it = pendingPackages.iterator();
+                    if (!it.hasNext()) {
+                        break;
+                    }
+                    packageName = it.next();
+                    it.remove();
+                }
+                try {
+                    scanPackage(context, engine, packageManager, packageName);
+                } catch (RuntimeException e) {
+                    // Bozuk bir APK diğer paketlerin taramasını ve süreci durdurmamalı
+                    Log.e(TAG, "Could not scan " + packageName, e);
+                }
+                scanned++;
+            }
+            engine.saveVerdictCache();
+            AppLabelCache.getInstance(context).save();
+            Log.d(TAG, "Scanned " + scanned + " changed packages");
+        } finally {
+            synchronized (lock) {
+                finishPending();
+                // Döngüden sonra gelen ya da kesilen döngüden kalan paketler için yeniden planla
+                drainScheduled = !pendingPackages.isEmpty();
+                if (drainScheduled) {
+                    scanHandler().postDelayed(() -> drain(context), COALESCE_MS);
+                }
+            }
+        }
+    }
+
+    private static void finishPending() {
+        mainHandler.removeCallbacks(finishOverdue);
+        for (PendingResult result : pendingResults) {
+            result.finish();
+        }
+        pendingResults.clear();
+    }
+
+    private static void scanPackage(Context context, ScanEngine engine, PackageManager packageManager, String packageName) {
+        try {
+            // Uygulama bilgilerini al
+            PackageInfo packageInfo = packageManager.getPackageInfo(packageName, PermissionRiskEngine.PACKAGE_INFO_FLAGS);
+
+            // Özet, imza ve arşiv analizi; karar önbelleğe yazılır
+            ApkHashes hashes = null;
             try {
-                // Uygulama bilgilerini al
-                PackageManager packageManager = context.getPackageManager();
-                PackageInfo packageInfo = packageManager.getPackageInfo(packageName, 0);
-                ApplicationInfo appInfo = packageInfo.applicationInfo;
-                
+                hashes = engine.hash(packageInfo.applicationInfo.sourceDir);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not hash " + packageName, e);
+            }
+            AppVerdict verdict = engine.match(packageInfo, hashes);
+            engine.record(packageInfo, verdict);
+
+            // Şüpheli davranış içeren uygulamaları tespit et
+            if (verdict.isSuspicious() || isSuspiciousApp(packageInfo)) {
                 // Uygulama adı
-                String appName = appInfo.loadLabel(packageManager).toString();
-                
-                // Şüpheli davranış içeren uygulamaları tespit et
-                if (isSuspiciousApp(packageName, appInfo)) {
-                    // Şüpheli uygulama bildirimi gönder
-                    showSuspiciousAppNotification(context, packageName, appName);
-                } else {
-                    Log.d(TAG, "App " + appName + " installed/updated, no suspicious behavior detected");
-                }
-            } catch (PackageManager.NameNotFoundException e) {
-                Log.e(TAG, "Could not find package info", e);
+                String appName = AppLabelCache.getInstance(context).getLabel(packageManager, packageInfo);
+                // Şüpheli uygulama bildirimi gönder
+                showSuspiciousAppNotification(context, packageName, appName);
+            } else {
+                Log.d(TAG, "App " + packageName + " installed/updated, no suspicious behavior detected");
             }
+        } catch (PackageManager.NameNotFoundException e) {
+            // Toplu güncellemede kurulup hemen kaldırılan paketler
+            Log.e(TAG, "Could not find package info", e);
         }
     }
     
-    private boolean isSuspiciousApp(String packageName, ApplicationInfo appInfo) {
-        // Şüpheli izinleri kontrol et
-        List<String> suspiciousPermissions = Arrays.asList(
-            "android.permission.READ_SMS",
-            "android.permission.RECEIVE_SMS",
-            "android.permission.SEND_SMS",
-            "android.permission.CALL_PHONE",
-            "android.permission.READ_CONTACTS",
-            "android.permission.WRITE_CONTACTS",
-            "android.permission.RECORD_AUDIO",
-            "android.permission.CAMERA",
-            "android.permission.READ_CALL_LOG"
-        );
-        
-        // Şüpheli uygulama isimleri
-        List<String> suspiciousPatterns = Arrays.asList(
-            "hack", "crack", "cheat", "spy", "track", "malware"
-        );
+    private static boolean isSuspiciousApp(PackageInfo packageInfo) {
+        String packageName = packageInfo.packageName;
+
+        // Yalnızca tehlikeli izin kombinasyonları uyarı üretir; puan tek başına yetmez
+        PermissionRiskEngine riskEngine = PermissionRiskEngine.getDefault();
+        long[] permissionBits = riskEngine.toBits(packageInfo);
+        if (riskEngine.isHighRisk(permissionBits)) {
+            Log.d(TAG, "Dangerous permission combination for " + packageName
+                + ": " + riskEngine.matchedCombinations(permissionBits));
+            return true;
+        }
         
         // Paket adında şüpheli desenler var mı kontrol et
-        String lowerPackageName = packageName.toLowerCase();
-        for (String pattern : suspiciousPatterns) {
-            if (lowerPackageName.contains(pattern)) {
-                Log.d(TAG, "Suspicious pattern found in package name: " + pattern);
-                return true;
-            }
+        KeywordMatcher matcher = HeuristicPatterns.packageNames();
+        int match = matcher.firstMatch(packageName);
+        if (match >= 0) {
+            Log.d(TAG, "Suspicious pattern found in package name: " + matcher.keyword(match));
+            return true;
         }
         
-        // Gerçek uygulamada burada daha karmaşık analizler yapılabilir
-        // Örneğin, APK dosyasının hash'i çıkarılarak known-malware veritabanı ile karşılaştırılabilir
-        
         return false;
     }
     
-    private void showSuspiciousAppNotification(Context context, String packageName, String appName) {
+    private static void showSuspiciousAppNotification(Context context, String packageName, String appName) {
         // Ana aktiviteye dönmek için intent
         Intent notificationIntent = new Intent(context, MainActivity.class);
         PendingIntent pendingIntent = PendingIntent.getActivity(
@@ -129,7 +257,7 @@ public class PackageChangeReceiver extends BroadcastReceiver {
             .build();
             
         NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
-        notificationManager.notify(NOTIFICATION_ID, notification);
+        notificationManager.notify(packageName.hashCode(), notification);
         
         Log.d(TAG, "Suspicious app notification shown for: " + appName);
     }
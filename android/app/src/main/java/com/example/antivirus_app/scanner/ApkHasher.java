@@ -0,0 +1,160 @@
+package com.example.antivirus_app.scanner;
+
+import android.os.SystemClock;
+import androidx.annotation.Nullable;
+
+import com.example.antivirus_app.scanner.rules.RuleScanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * APK dosyalarının MD5, SHA-1, SHA-256 ve benzerlik ({@link SimilarityHasher})
+ * özetlerini dosyayı yalnızca bir kez okuyarak hesaplar.
+ *
+ * Büyük dosyalar {@link FileChannel#map} ile bölge bölge belleğe eşlenir, küçük
+ * dosyalar ise tekrar kullanılan bir direct buffer üzerinden okunur. Her parça
+ * önbellekte sıcakken tüm özetlere sırayla verilir. Örnekler thread-safe değildir;
+ * her tarama thread'i kendi örneğini kullanmalıdır.
+ *
+ * İsteğe bağlı bir {@link RuleScanner} aynı parçalarla beslenir; içerik
+ * kuralları için dosya ikinci kez okunmaz.
+ *
+ * Son çağrıda okuma ve eşleme için harcanan süre {@link #getLastReadNanos()}
+ * ile alınabilir. Eşlenen bölgelerin sayfa hataları özet hesabı sırasında
+ * oluştuğundan bu süreye dahil değildir.
+ */
+public final class ApkHasher {
+    // Belleğe eşlenen bölge boyutu; 200 MB'lık APK'lar için bile adres alanını şişirmez
+    private static final long MAP_REGION_SIZE = 8L * 1024 * 1024;
+
+    // Bu boyutun altındaki dosyalarda mmap kurulum maliyeti okumadan pahalıdır
+    private static final long MAP_THRESHOLD = 512L * 1024;
+
+    // Özetlere tek seferde verilen parça boyutu (L2 önbelleğine sığacak kadar)
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final MessageDigest md5;
+    private final MessageDigest sha1;
+    private final MessageDigest sha256;
+    private final SimilarityHasher similarity = new SimilarityHasher();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    @Nullable
+    private RuleScanner rules;
+    private long readNanos;
+
+    public ApkHasher() {
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+            sha1 = MessageDigest.getInstance("SHA-1");
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Android platformu bu algoritmaları her zaman sağlar
+            throw new IllegalStateException("Required digest algorithm missing", e);
+        }
+    }
+
+    public ApkHashes hash(String path) throws IOException {
+        return hash(new File(path));
+    }
+
+    public ApkHashes hash(File file) throws IOException {
+        return hash(file, null);
+    }
+
+    /**
+     * Özetleri hesaplarken içeriği {@code rules} ile de tarar. Tarayıcının
+     * {@link RuleScanner#begin()} ve {@link RuleScanner#finish()} çağrıları
+     * çağırana aittir.
+     */
+    public ApkHashes hash(File file, @Nullable RuleScanner rules) throws IOException {
+        this.rules = rules;
+        try {
+            return hashFile(file);
+        } finally {
+            this.rules = null;
+        }
+    }
+
+    private ApkHashes hashFile(File file) throws IOException {
+        md5.reset();
+        sha1.reset();
+        sha256.reset();
+        similarity.reset();
+        readNanos = 0;
+
+        long size;
+        try (FileInputStream in = new FileInputStream(file);
+             FileChannel channel = in.getChannel()) {
+            size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                hashMapped(channel, size);
+            } else {
+                hashBuffered(channel);
+            }
+        }
+
+        return new ApkHashes(md5.digest(), sha1.digest(), sha256.digest(), similarity.digest(), size);
+    }
+
+    /**
+     * Son {@link #hash} çağrısında dosya okuma ve bellek eşlemeye harcanan süre.
+     */
+    public long getLastReadNanos() {
+        return readNanos;
+    }
+
+    private void hashMapped(FileChannel channel, long size) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long regionSize = Math.min(MAP_REGION_SIZE, size - position);
+            long start = SystemClock.elapsedRealtimeNanos();
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+            readNanos += SystemClock.elapsedRealtimeNanos() - start;
+
+            int offset = 0;
+            int limit = (int) regionSize;
+            while (offset < limit) {
+                int end = Math.min(offset + CHUNK_SIZE, limit);
+                region.limit(end).position(offset);
+                update(region);
+                offset = end;
+            }
+            position += regionSize;
+        }
+    }
+
+    private void hashBuffered(FileChannel channel) throws IOException {
+        readBuffer.clear();
+        while (true) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            int read = channel.read(readBuffer);
+            readNanos += SystemClock.elapsedRealtimeNanos() - start;
+            if (read == -1) {
+                break;
+            }
+            readBuffer.flip();
+            update(readBuffer);
+            readBuffer.clear();
+        }
+    }
+
+    private void update(ByteBuffer chunk) {
+        int start = chunk.position();
+        similarity.update(chunk);
+        if (rules != null) {
+            rules.update(chunk);
+        }
+        md5.update(chunk);
+        chunk.position(start);
+        sha1.update(chunk);
+        chunk.position(start);
+        sha256.update(chunk);
+    }
+}
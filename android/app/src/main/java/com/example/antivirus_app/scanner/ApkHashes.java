@@ -0,0 +1,69 @@
+package com.example.antivirus_app.scanner;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Bir APK dosyası için tek geçişte hesaplanan özet değerleri.
+ */
+public final class ApkHashes {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final byte[] md5;
+    private final byte[] sha1;
+    private final byte[] sha256;
+    @Nullable
+    private final byte[] similarityHash;
+    private final long size;
+
+    public ApkHashes(byte[] md5, byte[] sha1, byte[] sha256, @Nullable byte[] similarityHash, long size) {
+        this.md5 = md5;
+        this.sha1 = sha1;
+        this.sha256 = sha256;
+        this.similarityHash = similarityHash;
+        this.size = size;
+    }
+
+    public byte[] getMd5() {
+        return md5;
+    }
+
+    public byte[] getSha1() {
+        return sha1;
+    }
+
+    public byte[] getSha256() {
+        return sha256;
+    }
+
+    /**
+     * Varyant tespiti için benzerlik özeti; dosya özetlenemeyecek kadar küçük
+     * ya da tekdüzeyse null.
+     */
+    @Nullable
+    public byte[] getSimilarityHash() {
+        return similarityHash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getSha256Hex() {
+        return toHex(sha256);
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            out[i * 2] = HEX[v >>> 4];
+            out[i * 2 + 1] = HEX[v & 0x0F];
+        }
+        return new String(out);
+    }
+
+    @Override
+    public String toString() {
+        return "ApkHashes{md5=" + toHex(md5) + ", sha1=" + toHex(sha1) + ", sha256=" + toHex(sha256) + ", size=" + size + "}";
+    }
+}
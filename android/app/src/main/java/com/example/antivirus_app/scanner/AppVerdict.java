@@ -0,0 +1,91 @@
+package com.example.antivirus_app.scanner;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tek bir uygulama için tarama hattının ürettiği karar.
+ */
+public final class AppVerdict {
+    private final String packageName;
+    @Nullable
+    private final String apkPath;
+    private final boolean fromCache;
+    @Nullable
+    private final ApkHashes hashes;
+    private final List<String> reasons = new ArrayList<>();
+    private final List<String> signals = new ArrayList<>();
+    private List<byte[]> signerDigests = Collections.emptyList();
+    private boolean suspicious;
+
+    AppVerdict(String packageName, @Nullable String apkPath, @Nullable ApkHashes hashes, boolean fromCache, boolean suspicious) {
+        this.packageName = packageName;
+        this.apkPath = apkPath;
+        this.hashes = hashes;
+        this.fromCache = fromCache;
+        this.suspicious = suspicious;
+    }
+
+    /**
+     * Uygulamayı verilen gerekçeyle şüpheli olarak işaretler.
+     */
+    void flag(String reason) {
+        suspicious = true;
+        reasons.add(reason);
+    }
+
+    /**
+     * Tek başına tehdit sayılmayan, ancak raporlanan bir risk işareti ekler.
+     */
+    void addSignal(String signal) {
+        signals.add(signal);
+    }
+
+    /**
+     * İmzalayan sertifika özetleri; önbelleğe yazılır ve sertifika
+     * veritabanı güncellendiğinde yeniden sorgulanır.
+     */
+    void setSignerDigests(List<byte[]> signerDigests) {
+        this.signerDigests = signerDigests;
+    }
+
+    List<byte[]> getSignerDigests() {
+        return signerDigests;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Paket bilgisi sorgulanmadan önbellekten üretilen kararlarda null'dır.
+     */
+    @Nullable
+    public String getApkPath() {
+        return apkPath;
+    }
+
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    @Nullable
+    public ApkHashes getHashes() {
+        return hashes;
+    }
+
+    public boolean isSuspicious() {
+        return suspicious;
+    }
+
+    public List<String> getReasons() {
+        return Collections.unmodifiableList(reasons);
+    }
+
+    public List<String> getSignals() {
+        return Collections.unmodifiableList(signals);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.antivirus_app.scanner;
+
+import com.example.antivirus_app.scanner.signature.SignatureStore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * İmzalayan sertifika özeti başına kararları tutan bellek içi LRU önbellek.
+ *
+ * Cihazdaki uygulamaların çoğu bir avuç imzalayandan gelir; aynı imzalayanın
+ * tüm uygulamaları tek bir veritabanı sorgusuyla değerlendirilir. Sertifika
+ * veritabanı sürümü değiştiğinde önbellek boşaltılır.
+ */
+final class CertificateVerdictCache {
+    private static final int MAX_ENTRIES = 256;
+
+    private final SignatureStore certificates;
+    private final Map<String, Boolean> verdicts = new LinkedHashMap<String, Boolean>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private long version = -1;
+
+    CertificateVerdictCache(SignatureStore certificates) {
+        this.certificates = certificates;
+    }
+
+    /**
+     * Sertifika bilinen zararlı bir imzalayana aitse true döner.
+     */
+    boolean isKnownBad(byte[] certificateDigest) {
+        String key = ApkHashes.toHex(certificateDigest);
+        long currentVersion = certificates.getVersion();
+        synchronized (verdicts) {
+            if (currentVersion != version) {
+                verdicts.clear();
+                version = currentVersion;
+            }
+            Boolean cached = verdicts.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        boolean bad = certificates.contains(certificateDigest);
+        synchronized (verdicts) {
+            verdicts.put(key, bad);
+        }
+        return bad;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.antivirus_app.scanner;
+
+import android.util.Log;
+
+import com.example.antivirus_app.scanner.rules.RuleSet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Paket adı sezgileri için paylaşılan, önceden derlenmiş anahtar kelime
+ * eşleyicisi ve yerleşik içerik kuralları.
+ *
+ * Tarama servisi ve paket alıcısı aynı otomatı kullanır. İmza beslemesinden
+ * gelen yeni anahtar kelimeler {@link #updatePackageNameKeywords} ile bir kez
+ * derlenip atomik olarak devreye alınır. İçerik kuralları için bkz.
+ * {@link #defaultContentRules()}.
+ */
+public final class HeuristicPatterns {
+    private static final String TAG = "HeuristicPatterns";
+
+    // Varsayılan şüpheli paket adı desenleri
+    private static final String[] DEFAULT_PACKAGE_NAME_KEYWORDS = {
+        "hack", "crack", "cheat", "spy", "track", "malware", "trojan"
+    };
+
+    // İmza dizininde kural dosyası yokken kullanılan yerleşik içerik kuralları
+    private static final String DEFAULT_CONTENT_RULES =
+        "rule MetasploitStager {\n"
+        + "  strings:\n"
+        + "    $stage = \"Lcom/metasploit/stage/\"\n"
+        + "    $config = \"metasploit.dat\"\n"
+        + "  condition:\n"
+        + "    any of them\n"
+        + "}\n"
+        + "rule RansomNote {\n"
+        + "  strings:\n"
+        + "    $locked = \"your device has been locked\" nocase\n"
+        + "    $encrypted = \"your files have been encrypted\" nocase\n"
+        + "    $bitcoin = \"bitcoin\" nocase\n"
+        + "    $moneypak = \"moneypak\" nocase\n"
+        + "  condition:\n"
+        + "    ($locked or $encrypted) and ($bitcoin or $moneypak)\n"
+        + "}\n"
+        + "rule ElfDropperScript {\n"
+        + "  strings:\n"
+        + "    $shebang = \"#!/system/bin/sh\"\n"
+        + "    $elf = { 7F 45 4C 46 ?? 01 01 }\n"
+        + "    $chmod = \"chmod 777\"\n"
+        + "  condition:\n"
+        + "    all of them\n"
+        + "}\n";
+
+    private static final RuleSet DEFAULT_CONTENT_RULE_SET = compileDefaultContentRules();
+
+    private static volatile KeywordMatcher packageNameMatcher = KeywordMatcher.compile(DEFAULT_PACKAGE_NAME_KEYWORDS);
+
+    private HeuristicPatterns() {
+    }
+
+    public static KeywordMatcher packageNames() {
+        return packageNameMatcher;
+    }
+
+    /**
+     * Yerleşik içerik kuralları; güncel kurallar {@code ScanEngine} üzerinden alınmalıdır.
+     */
+    public static RuleSet defaultContentRules() {
+        return DEFAULT_CONTENT_RULE_SET;
+    }
+
+    /**
+     * Paket adı anahtar kelimelerini yenileriyle değiştirir. ASCII olmayan ya da
+     * boş girdiler atlanır.
+     */
+    public static void updatePackageNameKeywords(Collection<String> keywords) {
+        List<String> accepted = new ArrayList<>(keywords.size());
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isEmpty() && isAscii(keyword)) {
+                accepted.add(keyword);
+            }
+        }
+        if (accepted.isEmpty()) {
+            Log.w(TAG, "Ignoring empty package name keyword update");
+            return;
+        }
+        packageNameMatcher = KeywordMatcher.compile(accepted);
+        Log.d(TAG, "Package name matcher compiled with " + accepted.size() + " keywords");
+    }
+
+    private static RuleSet compileDefaultContentRules() {
+        try {
+            return RuleSet.compile(DEFAULT_CONTENT_RULES);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid built-in content rules", e);
+        }
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
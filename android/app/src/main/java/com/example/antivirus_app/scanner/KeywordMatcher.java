@@ -0,0 +1,160 @@
+package com.example.antivirus_app.scanner;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Büyük/küçük harf duyarsız Aho-Corasick anahtar kelime eşleyicisi.
+ *
+ * Otomat derleme sırasında tam bir DFA geçiş tablosuna açılır; böylece eşleme
+ * metin uzunluğunda doğrusal, anahtar kelime sayısından bağımsız ve bellek
+ * ayırmadan çalışır. Alfabe yalnızca anahtar kelimelerde geçen karakterlere
+ * sıkıştırılır. Anahtar kelimeler ASCII olmalıdır; ASCII dışı metin karakterleri
+ * hiçbir anahtar kelimeyle eşleşmez. Derlenmiş örnekler değişmezdir ve
+ * thread'ler arasında paylaşılabilir.
+ */
+public final class KeywordMatcher {
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final int[] charClass;
+    private final int classCount;
+    private final int[] transitions;
+    private final int[] output;
+
+    private KeywordMatcher(String[] keywords, int[] charClass, int classCount, int[] transitions, int[] output) {
+        this.keywords = keywords;
+        this.charClass = charClass;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.output = output;
+    }
+
+    public static KeywordMatcher compile(Collection<String> keywords) {
+        return compile(keywords.toArray(new String[0]));
+    }
+
+    public static KeywordMatcher compile(String... keywords) {
+        String[] folded = new String[keywords.length];
+        int[] charClass = new int[ASCII];
+        int classCount = 1; // 0: anahtar kelimelerde geçmeyen karakterler
+        int maxStates = 1;
+
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i];
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword at index " + i);
+            }
+            char[] chars = keyword.toCharArray();
+            for (int j = 0; j < chars.length; j++) {
+                char ch = chars[j];
+                if (ch >= ASCII) {
+                    throw new IllegalArgumentException("Non-ASCII keyword: " + keyword);
+                }
+                ch = fold(ch);
+                chars[j] = ch;
+                if (charClass[ch] == 0) {
+                    charClass[ch] = classCount++;
+                }
+            }
+            folded[i] = new String(chars);
+            maxStates += chars.length;
+        }
+        // Büyük harfler küçük karşılıklarıyla aynı sınıfa düşer
+        for (char ch = 'A'; ch <= 'Z'; ch++) {
+            charClass[ch] = charClass[fold(ch)];
+        }
+
+        // Trie
+        int[] transitions = new int[maxStates * classCount];
+        Arrays.fill(transitions, -1);
+        int[] output = new int[maxStates];
+        Arrays.fill(output, -1);
+        int stateCount = 1;
+        for (int i = 0; i < folded.length; i++) {
+            String keyword = folded[i];
+            int state = 0;
+            for (int j = 0; j < keyword.length(); j++) {
+                int index = state * classCount + charClass[keyword.charAt(j)];
+                if (transitions[index] == -1) {
+                    transitions[index] = stateCount++;
+                }
+                state = transitions[index];
+            }
+            if (output[state] == -1) {
+                output[state] = i;
+            }
+        }
+
+        // Hata bağlantıları ile DFA'ya açma (genişlik öncelikli)
+        int[] fail = new int[stateCount];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < classCount; c++) {
+            int next = transitions[c];
+            if (next == -1) {
+                transitions[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (output[state] == -1) {
+                output[state] = output[fail[state]];
+            }
+            int base = state * classCount;
+            int failBase = fail[state] * classCount;
+            for (int c = 0; c < classCount; c++) {
+                int next = transitions[base + c];
+                if (next == -1) {
+                    transitions[base + c] = transitions[failBase + c];
+                } else {
+                    fail[next] = transitions[failBase + c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new KeywordMatcher(
+            keywords.clone(),
+            charClass,
+            classCount,
+            Arrays.copyOf(transitions, stateCount * classCount),
+            Arrays.copyOf(output, stateCount)
+        );
+    }
+
+    /**
+     * Metinde geçen ilk anahtar kelimenin dizinini, yoksa -1 döner.
+     */
+    public int firstMatch(CharSequence text) {
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char ch = text.charAt(i);
+            state = transitions[state * classCount + (ch < ASCII ? charClass[ch] : 0)];
+            int match = output[state];
+            if (match >= 0) {
+                return match;
+            }
+        }
+        return -1;
+    }
+
+    public boolean matches(CharSequence text) {
+        return firstMatch(text) >= 0;
+    }
+
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    private static char fold(char ch) {
+        return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.antivirus_app.scanner;
+
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Yerel kütüphane başına ELF inceleme bayraklarını tutan bellek içi LRU önbellek.
+ *
+ * Reklam, analitik ve oyun motoru SDK'ları aynı {@code .so} dosyasını onlarca
+ * uygulamaya taşır. Anahtar, kütüphanenin okunan gerçek baytlarının SHA-256
+ * özetidir; merkezi dizindeki CRC32 ve boyut saldırganın denetiminde
+ * olduğundan anahtar olarak kullanılmaz. Önbellek yalnızca ayrıştırma ve
+ * komut taramasını atlatır, içerik her seferinde okunup özetlenir.
+ */
+final class NativeLibraryCache {
+    private static final int MAX_ENTRIES = 512;
+
+    private final Map<ByteBuffer, Integer> entries = new LinkedHashMap<ByteBuffer, Integer>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Integer> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @Nullable
+    synchronized Integer get(byte[] sha256) {
+        return entries.get(ByteBuffer.wrap(sha256));
+    }
+
+    synchronized void put(byte[] sha256, int flags) {
+        entries.put(ByteBuffer.wrap(sha256), flags);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.ChangedPackages;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.provider.Settings;
+import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Kullanıcı uygulamalarını büyük binder işlemleri yapmadan listeler.
+ *
+ * {@code getInstalledPackages(GET_PERMISSIONS)} tüm cihazın izin listelerini
+ * tek bir işlemde taşır ve çok uygulamalı cihazlarda
+ * {@code TransactionTooLargeException} ile sonuçlanabilir. Bu sınıf önce
+ * yalnızca temel alanlarla listeler, ek bayrakları paket başına ayrı
+ * çağrılarla ister.
+ *
+ * Artımlı taramalar için API 26+ üzerinde {@link PackageManager#getChangedPackages}
+ * sıra numarası saklanır; değişiklik yoksa tarama tek bir küçük çağrıyla
+ * sonuçlanır. Sıra numaraları yeniden başlatmada sıfırlandığından
+ * {@link Settings.Global#BOOT_COUNT} ile birlikte saklanır; açılış sayısı
+ * değişmişse ya da eski sürümlerde tam listeleme yapılır.
+ */
+public final class PackageEnumerator {
+    private static final String TAG = "PackageEnumerator";
+    private static final String PREF_FILE = "com.example.antivirus_app.package_enumerator";
+    private static final String PREF_SEQUENCE = "sequence";
+    private static final String PREF_BOOT_COUNT = "boot_count";
+    private static final String PREF_PACKAGES = "packages";
+
+    private static volatile PackageEnumerator instance;
+
+    private final Context context;
+    private final PackageManager packageManager;
+    private final SharedPreferences prefs;
+
+    private PackageEnumerator(Context context) {
+        this.context = context;
+        this.packageManager = context.getPackageManager();
+        this.prefs = context.getSharedPreferences(PREF_FILE, Context.MODE_PRIVATE);
+    }
+
+    public static PackageEnumerator getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PackageEnumerator.class) {
+                if (instance == null) {
+                    instance = new PackageEnumerator(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Sistem dışı uygulamaları listeler. {@code flags} sıfır değilse bilgiler
+     * paket başına ayrı çağrılarla istenir; bu arada kaldırılan paketler atlanır.
+     */
+    public List<PackageInfo> getUserPackages(int flags) {
+        List<PackageInfo> packages = packageManager.getInstalledPackages(0);
+        List<PackageInfo> userPackages = new ArrayList<>(packages.size());
+        for (PackageInfo packageInfo : packages) {
+            if (!isUserApp(packageInfo)) {
+                continue;
+            }
+            if (flags == 0) {
+                userPackages.add(packageInfo);
+                continue;
+            }
+            try {
+                userPackages.add(packageManager.getPackageInfo(packageInfo.packageName, flags));
+            } catch (PackageManager.NameNotFoundException e) {
+                // Listeleme ile sorgu arasında kaldırıldı
+            }
+        }
+        return userPackages;
+    }
+
+    /**
+     * Son {@link #commit} çağrısından bu yana değişen kullanıcı uygulamalarını
+     * döner. Karşılaştırılacak durum yoksa tüm uygulamalar değişmiş sayılır
+     * ({@link Changes#isComplete()}).
+     */
+    public Changes getChanges() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            Changes changes = getChangesSinceSequence();
+            if (changes != null) {
+                return changes;
+            }
+        }
+        return enumerateAll();
+    }
+
+    /**
+     * Değişiklikler işlendikten sonra çağrılır; sonraki {@link #getChanges()}
+     * bu noktadan itibaren hesaplanır. Kesilen taramalar commit etmediğinden
+     * değişiklikler kaybolmaz.
+     */
+    public void commit(Changes changes) {
+        prefs.edit()
+            .putInt(PREF_SEQUENCE, changes.sequence)
+            .putInt(PREF_BOOT_COUNT, changes.bootCount)
+            .putStringSet(PREF_PACKAGES, new HashSet<>(changes.installed))
+            .apply();
+    }
+
+    @RequiresApi(Build.VERSION_CODES.O)
+    @Nullable
+    private Changes getChangesSinceSequence() {
+        int bootCount = currentBootCount();
+        int sequence = prefs.getInt(PREF_SEQUENCE, -1);
+        Set<String> known = prefs.getStringSet(PREF_PACKAGES, null);
+        if (sequence < 0 || known == null || bootCount < 0 || bootCount != prefs.getInt(PREF_BOOT_COUNT, -1)) {
+            return null;
+        }
+
+        ChangedPackages changed = packageManager.getChangedPackages(sequence);
+        Set<String> installed = new HashSet<>(known);
+        if (changed == null) {
+            return new Changes(false, Collections.<PackageInfo>emptyList(), Collections.<String>emptySet(),
+                installed, sequence, bootCount);
+        }
+
+        List<PackageInfo> updated = new ArrayList<>();
+        Set<String> removed = new HashSet<>();
+        for (String packageName : changed.getPackageNames()) {
+            try {
+                PackageInfo packageInfo = packageManager.getPackageInfo(packageName, 0);
+                if (isUserApp(packageInfo)) {
+                    updated.add(packageInfo);
+                    installed.add(packageName);
+                }
+            } catch (PackageManager.NameNotFoundException e) {
+                if (installed.remove(packageName)) {
+                    removed.add(packageName);
+                }
+            }
+        }
+        Log.d(TAG, updated.size() + " changed, " + removed.size() + " removed since sequence " + sequence);
+        return new Changes(false, updated, removed, installed, changed.getSequenceNumber(), bootCount);
+    }
+
+    private Changes enumerateAll() {
+        // Başlangıç sıra numarası listelemeden önce alınır; arada değişen paketler sonraki turda görülür
+        int sequence = -1;
+        int bootCount = -1;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            bootCount = currentBootCount();
+            ChangedPackages sinceBoot = packageManager.getChangedPackages(0);
+            sequence = sinceBoot != null ? sinceBoot.getSequenceNumber() : 0;
+        }
+
+        List<PackageInfo> packages = getUserPackages(0);
+        Set<String> installed = new HashSet<>();
+        for (PackageInfo packageInfo : packages) {
+            installed.add(packageInfo.packageName);
+        }
+        Set<String> removed = new HashSet<>();
+        Set<String> known = prefs.getStringSet(PREF_PACKAGES, null);
+        if (known != null) {
+            for (String packageName : known) {
+                if (!installed.contains(packageName)) {
+                    removed.add(packageName);
+                }
+            }
+        }
+        return new Changes(true, packages, removed, installed, sequence, bootCount);
+    }
+
+    private int currentBootCount() {
+        return Settings.Global.getInt(context.getContentResolver(), Settings.Global.BOOT_COUNT, -1);
+    }
+
+    private static boolean isUserApp(PackageInfo packageInfo) {
+        return (packageInfo.applicationInfo.flags & ApplicationInfo.FLAG_SYSTEM) == 0;
+    }
+
+    /**
+     * Bir listeleme turunun sonucu. Paket bilgileri yalnızca temel alanları içerir.
+     */
+    public static final class Changes {
+        private final boolean complete;
+        private final List<PackageInfo> changed;
+        private final Set<String> removed;
+        private final Set<String> installed;
+        private final int sequence;
+        private final int bootCount;
+
+        Changes(boolean complete, List<PackageInfo> changed, Set<String> removed, Set<String> installed,
+                int sequence, int bootCount) {
+            this.complete = complete;
+            this.changed = changed;
+            this.removed = removed;
+            this.installed = installed;
+            this.sequence = sequence;
+            this.bootCount = bootCount;
+        }
+
+        /**
+         * Tam listeleme yapıldıysa true; bu durumda {@link #getChanged()} tüm
+         * kullanıcı uygulamalarını içerir.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public List<PackageInfo> getChanged() {
+            return changed;
+        }
+
+        public Set<String> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Şu anda kurulu tüm kullanıcı uygulamalarının adları.
+         */
+        public Set<String> getInstalled() {
+            return installed;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.pm.ActivityInfo;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.ServiceInfo;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * İzin tabanlı risk puanlama motoru.
+ *
+ * Puanlamada anlamı olan izinler açılışta tamsayı kimliklere bağlanır ve her
+ * uygulamanın izin kümesi bu kimliklerle bir {@code long[]} bit kümesi olarak
+ * temsil edilir. Ağırlıklı puan ve tehlikeli izin kombinasyonları bit
+ * işlemleriyle hesaplanır; bilinmeyen izinler yok sayılır ve hiçbir ara liste
+ * oluşturulmaz. Motor değişmezdir ve thread-safe'tir.
+ *
+ * Puan yalnızca bilgi amaçlıdır: mesajlaşma, SMS ve navigasyon uygulamaları
+ * ağırlıklarla yüksek puan alır. Uygulamayı şüpheli yapan, yalnızca
+ * {@link Builder#threat} ile tanımlanan ve meşru uygulamalarda nadir görülen
+ * kombinasyonlardır ({@link #isHighRisk}).
+ *
+ * BIND_ACCESSIBILITY_SERVICE gibi bağlama izinleri istenmez; uygulama bunları
+ * kendi servis ve alıcılarında tanımlar. Bu yüzden {@link #toBits(PackageInfo)}
+ * istenen izinlere bileşenlerin koruma izinlerini de ekler; paket bilgisi
+ * {@link #PACKAGE_INFO_FLAGS} ile alınmalıdır.
+ */
+public final class PermissionRiskEngine {
+    /** Puanlama için paket bilgisinin alınması gereken bayraklar. */
+    public static final int PACKAGE_INFO_FLAGS =
+        PackageManager.GET_PERMISSIONS | PackageManager.GET_SERVICES | PackageManager.GET_RECEIVERS;
+
+    private static final String P = "android.permission.";
+    private static final PermissionRiskEngine DEFAULT = new Builder()
+        .weight(P + "INTERNET", 1)
+        .weight(P + "RECEIVE_BOOT_COMPLETED", 3)
+        .weight(P + "READ_PHONE_STATE", 5)
+        .weight(P + "CAMERA", 5)
+        .weight(P + "WRITE_CONTACTS", 5)
+        .weight(P + "QUERY_ALL_PACKAGES", 5)
+        .weight(P + "READ_CONTACTS", 10)
+        .weight(P + "CALL_PHONE", 10)
+        .weight(P + "RECORD_AUDIO", 10)
+        .weight(P + "ACCESS_FINE_LOCATION", 10)
+        .weight(P + "PROCESS_OUTGOING_CALLS", 10)
+        .weight(P + "READ_CALL_LOG", 15)
+        .weight(P + "SYSTEM_ALERT_WINDOW", 15)
+        .weight(P + "REQUEST_INSTALL_PACKAGES", 15)
+        .weight(P + "READ_SMS", 20)
+        .weight(P + "RECEIVE_SMS", 20)
+        .weight(P + "BIND_NOTIFICATION_LISTENER_SERVICE", 20)
+        .weight(P + "SEND_SMS", 25)
+        .weight(P + "BIND_DEVICE_ADMIN", 25)
+        .weight(P + "BIND_ACCESSIBILITY_SERVICE", 30)
+        .threat("SMS interception with accessibility control", 40,
+            P + "RECEIVE_SMS", P + "INTERNET", P + "BIND_ACCESSIBILITY_SERVICE")
+        .threat("Accessibility-driven payload installer", 30,
+            P + "BIND_ACCESSIBILITY_SERVICE", P + "REQUEST_INSTALL_PACKAGES", P + "INTERNET")
+        .combination("Overlay with accessibility control", 30,
+            P + "SYSTEM_ALERT_WINDOW", P + "BIND_ACCESSIBILITY_SERVICE")
+        .combination("Notification interception with SMS access", 20,
+            P + "BIND_NOTIFICATION_LISTENER_SERVICE", P + "READ_SMS", P + "INTERNET")
+        .combination("SMS exfiltration", 20,
+            P + "READ_SMS", P + "INTERNET")
+        .combination("Persistent premium SMS sender", 15,
+            P + "SEND_SMS", P + "RECEIVE_BOOT_COMPLETED")
+        .combination("Persistent audio and location tracking", 25,
+            P + "RECORD_AUDIO", P + "ACCESS_FINE_LOCATION", P + "INTERNET", P + "RECEIVE_BOOT_COMPLETED")
+        .combination("Payload installer", 15,
+            P + "REQUEST_INSTALL_PACKAGES", P + "INTERNET", P + "RECEIVE_BOOT_COMPLETED")
+        .build();
+
+    private final Map<String, Integer> ids;
+    private final int[] weights;
+    private final int words;
+    private final String[] ruleNames;
+    private final long[][] ruleMasks;
+    private final int[] ruleBonuses;
+    private final boolean[] ruleThreats;
+
+    private PermissionRiskEngine(Builder builder) {
+        this.ids = new HashMap<>(builder.ids);
+        this.weights = new int[builder.weights.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = builder.weights.get(i);
+        }
+        this.words = (weights.length + 63) >>> 6;
+        int ruleCount = builder.ruleNames.size();
+        this.ruleNames = builder.ruleNames.toArray(new String[ruleCount]);
+        this.ruleBonuses = new int[ruleCount];
+        this.ruleThreats = new boolean[ruleCount];
+        this.ruleMasks = new long[ruleCount][];
+        for (int r = 0; r < ruleCount; r++) {
+            ruleBonuses[r] = builder.ruleBonuses.get(r);
+            ruleThreats[r] = builder.ruleThreats.get(r);
+            ruleMasks[r] = toBits(builder.rulePermissions.get(r));
+        }
+    }
+
+    public static PermissionRiskEngine getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * İstenen izinleri bit kümesine çevirir; puanlamada anlamı olmayan izinler atlanır.
+     */
+    public long[] toBits(@Nullable String[] permissions) {
+        long[] bits = new long[words];
+        if (permissions != null) {
+            for (String permission : permissions) {
+                setBit(bits, permission);
+            }
+        }
+        return bits;
+    }
+
+    private void setBit(long[] bits, @Nullable String permission) {
+        Integer id = permission != null ? ids.get(permission) : null;
+        if (id != null) {
+            bits[id >>> 6] |= 1L << id;
+        }
+    }
+
+    /**
+     * İstenen izinleri ve servis/alıcıların tanımladığı koruma izinlerini bit
+     * kümesine çevirir.
+     */
+    public long[] toBits(PackageInfo packageInfo) {
+        long[] bits = toBits(packageInfo.requestedPermissions);
+        if (packageInfo.services != null) {
+            for (ServiceInfo service : packageInfo.services) {
+                setBit(bits, service.permission);
+            }
+        }
+        if (packageInfo.receivers != null) {
+            for (ActivityInfo receiver : packageInfo.receivers) {
+                setBit(bits, receiver.permission);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Bit kümesinin ağırlıklı risk puanını, eşleşen kombinasyon ekleriyle birlikte hesaplar.
+     */
+    public int score(long[] bits) {
+        int score = 0;
+        for (int w = 0; w < words; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                score += weights[(w << 6) + bit];
+                word &= word - 1;
+            }
+        }
+        for (int r = 0; r < ruleMasks.length; r++) {
+            if (containsAll(bits, ruleMasks[r])) {
+                score += ruleBonuses[r];
+            }
+        }
+        return score;
+    }
+
+    public int score(@Nullable String[] permissions) {
+        return score(toBits(permissions));
+    }
+
+    /**
+     * Eşleşen tehlikeli kombinasyonların adlarını döner.
+     */
+    public List<String> matchedCombinations(long[] bits) {
+        List<String> matched = null;
+        for (int r = 0; r < ruleMasks.length; r++) {
+            if (containsAll(bits, ruleMasks[r])) {
+                if (matched == null) {
+                    matched = new ArrayList<>(2);
+                }
+                matched.add(ruleNames[r]);
+            }
+        }
+        return matched != null ? matched : Collections.<String>emptyList();
+    }
+
+    /**
+     * Tehdit olarak tanımlı bir kombinasyon eşleşiyorsa true; puan dikkate alınmaz.
+     */
+    public boolean isHighRisk(long[] bits) {
+        for (int r = 0; r < ruleMasks.length; r++) {
+            if (ruleThreats[r] && containsAll(bits, ruleMasks[r])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long[] toBits(List<String> permissions) {
+        return toBits(permissions.toArray(new String[permissions.size()]));
+    }
+
+    private boolean containsAll(long[] bits, long[] mask) {
+        for (int w = 0; w < words; w++) {
+            if ((bits[w] & mask[w]) != mask[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ağırlık ve kombinasyon kurallarından motor oluşturur. Kombinasyonlarda
+     * geçen izinler ağırlık tanımlanmamışsa sıfır ağırlıkla kimlik alır.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private final List<String> ruleNames = new ArrayList<>();
+        private final List<List<String>> rulePermissions = new ArrayList<>();
+        private final List<Integer> ruleBonuses = new ArrayList<>();
+        private final List<Boolean> ruleThreats = new ArrayList<>();
+
+        public Builder weight(String permission, int weight) {
+            weights.set(intern(permission), weight);
+            return this;
+        }
+
+        /**
+         * Puana ek getiren, tek başına uyarı gerektirmeyen kombinasyon.
+         */
+        public Builder combination(String name, int bonus, String... permissions) {
+            return rule(name, bonus, false, permissions);
+        }
+
+        /**
+         * Eşleştiğinde uygulamayı şüpheli yapan kombinasyon.
+         */
+        public Builder threat(String name, int bonus, String... permissions) {
+            return rule(name, bonus, true, permissions);
+        }
+
+        public PermissionRiskEngine build() {
+            return new PermissionRiskEngine(this);
+        }
+
+        private Builder rule(String name, int bonus, boolean threat, String... permissions) {
+            List<String> required = new ArrayList<>(permissions.length);
+            for (String permission : permissions) {
+                intern(permission);
+                required.add(permission);
+            }
+            ruleNames.add(name);
+            rulePermissions.add(required);
+            ruleBonuses.add(bonus);
+            ruleThreats.add(threat);
+            return this;
+        }
+
+        private int intern(String permission) {
+            Integer id = ids.get(permission);
+            if (id == null) {
+                id = weights.size();
+                ids.put(permission, id);
+                weights.add(0);
+            }
+            return id;
+        }
+    }
+}
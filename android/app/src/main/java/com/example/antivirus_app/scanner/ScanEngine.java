@@ -0,0 +1,629 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.Signature;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.Nullable;
+
+import com.example.antivirus_app.scanner.apk.ApkArchive;
+import com.example.antivirus_app.scanner.apk.ApkEntryReader;
+import com.example.antivirus_app.scanner.apk.ApkSigningBlock;
+import com.example.antivirus_app.scanner.apk.DexScanner;
+import com.example.antivirus_app.scanner.apk.ElfInspector;
+import com.example.antivirus_app.scanner.rules.RuleScanner;
+import com.example.antivirus_app.scanner.rules.RuleSet;
+import com.example.antivirus_app.scanner.signature.SignatureStore;
+import com.example.antivirus_app.scanner.signature.SimilarityIndex;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uygulama analizinin aşamalarını (önbellek, okuma/özet, imza eşleme) barındıran
+ * ve süreç içinde paylaşılan tarama motoru.
+ *
+ * Aşama metotları thread-safe'tir; her thread kendi {@link ApkHasher} örneğini
+ * kullanır.
+ */
+public final class ScanEngine {
+    private static final String TAG = "ScanEngine";
+    private static final String VERDICT_CACHE_FILE = "verdict_cache.bin";
+
+    // Tespit mantığı değiştiğinde artırılır; önbellekteki eski kararları geçersiz kılar
+    private static final long DETECTION_RULES_VERSION = 7;
+
+    private static final String SIMILARITY_INDEX_FILE = "similarity.idx";
+    private static final String CONTENT_RULES_FILE = "content_rules.yar";
+
+    // Bu uzaklığın altındaki özetler aynı zararlı ailesinin yeniden paketlenmiş varyantı sayılır
+    private static final int SIMILARITY_THRESHOLD = 30;
+
+    // Tek bir DEX girişi için açılacak en büyük boyut; 64k metot sınırındaki dosyalar bunun çok altındadır
+    private static final int MAX_DEX_SIZE = 32 * 1024 * 1024;
+
+    // Özetlenecek en büyük yerel kütüphane; içerik akıtılarak okunur, belleğe alınmaz
+    private static final int MAX_NATIVE_LIBRARY_SIZE = 64 * 1024 * 1024;
+
+    private static volatile ScanEngine instance;
+
+    private final Context context;
+    private final SignatureStore signatures;
+    private final CertificateVerdictCache certificateVerdicts;
+    private final NativeLibraryCache nativeLibraries = new NativeLibraryCache();
+    private final ScanMetrics metrics = ScanMetrics.getInstance();
+    private final ThreadLocal<ApkHasher> hashers = new ThreadLocal<ApkHasher>() {
+        @Override
+        protected ApkHasher initialValue() {
+            return new ApkHasher();
+        }
+    };
+    private final ThreadLocal<ApkEntryReader> entryReaders = new ThreadLocal<ApkEntryReader>() {
+        @Override
+        protected ApkEntryReader initialValue() {
+            return new ApkEntryReader();
+        }
+    };
+    private final ThreadLocal<DexScanner> dexScanners = new ThreadLocal<DexScanner>() {
+        @Override
+        protected DexScanner initialValue() {
+            return new DexScanner();
+        }
+    };
+    private final ThreadLocal<ElfInspector> elfInspectors = new ThreadLocal<ElfInspector>() {
+        @Override
+        protected ElfInspector initialValue() {
+            return new ElfInspector();
+        }
+    };
+    // Kural kümesi değiştiğinde thread'in tarayıcısı yeniden oluşturulur
+    private final ThreadLocal<RuleScanner> ruleScanners = new ThreadLocal<>();
+    private VerdictCache verdictCache;
+    private volatile SimilarityIndex similarityIndex;
+    private boolean similarityIndexOpened;
+    private volatile RuleSet contentRules;
+
+    private ScanEngine(Context context) {
+        this.context = context;
+        this.signatures = SignatureStore.forApkHashes(context);
+        this.certificateVerdicts = new CertificateVerdictCache(SignatureStore.forCertificates(context));
+    }
+
+    public static ScanEngine getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ScanEngine.class) {
+                if (instance == null) {
+                    instance = new ScanEngine(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    /**
+     * Karar önbelleğini ilk kullanımda yükler; ana thread'den çağrılmamalıdır.
+     */
+    public synchronized VerdictCache getVerdictCache() {
+        if (verdictCache == null) {
+            verdictCache = VerdictCache.open(new File(context.getFilesDir(), VERDICT_CACHE_FILE), DETECTION_RULES_VERSION);
+        }
+        return verdictCache;
+    }
+
+    /**
+     * Önbellek aşaması: uygulama son taramadan beri değişmediyse önceki kararı döner.
+     * Saklanan SHA-256 ve imzalayan özetleri güncel imza ve sertifika
+     * veritabanlarına karşı yeniden sorgulanır, böylece yeni eklenen imzalar
+     * APK tekrar okunmadan yakalanır.
+     */
+    @Nullable
+    public AppVerdict lookupCached(PackageInfo packageInfo, long apkSize) {
+        VerdictCache.Entry cached = getVerdictCache().lookup(packageInfo.packageName, packageInfo.lastUpdateTime, apkSize);
+        if (cached == null) {
+            metrics.cacheMiss();
+            return null;
+        }
+        metrics.cacheHit();
+        return new AppVerdict(packageInfo.packageName, packageInfo.applicationInfo.sourceDir, null, true,
+            isSuspicious(cached));
+    }
+
+    /**
+     * Değişmediği {@link PackageEnumerator} ile bilinen paketin önbellekteki
+     * kararını paket bilgisi sorgulamadan döner. Kayıt yoksa null.
+     */
+    @Nullable
+    public AppVerdict lookupUnchanged(String packageName) {
+        VerdictCache.Entry cached = getVerdictCache().get(packageName);
+        if (cached == null) {
+            return null;
+        }
+        metrics.cacheHit();
+        return new AppVerdict(packageName, null, null, true, isSuspicious(cached));
+    }
+
+    private boolean isSuspicious(VerdictCache.Entry cached) {
+        return cached.isSuspicious() || signatures.contains(cached.getSha256())
+            || isKnownBadSigner(cached.getSignerDigests());
+    }
+
+    /**
+     * Okuma/özet aşaması: APK'yı tek geçişte okuyup özetlerini hesaplar.
+     */
+    public ApkHashes hash(String apkPath) throws IOException {
+        return hash(apkPath, null);
+    }
+
+    /**
+     * Özetleri hesaplarken içeriği aynı okumada {@code rules} ile de tarar.
+     */
+    public ApkHashes hash(String apkPath, @Nullable RuleScanner rules) throws IOException {
+        ApkHasher hasher = hashers.get();
+        long start = SystemClock.elapsedRealtimeNanos();
+        ApkHashes hashes = hasher.hash(new File(apkPath), rules);
+        long elapsed = SystemClock.elapsedRealtimeNanos() - start;
+        metrics.read.record(hasher.getLastReadNanos());
+        metrics.hash.record(elapsed - hasher.getLastReadNanos());
+        metrics.addBytesRead(hashes.getSize());
+        return hashes;
+    }
+
+    /**
+     * Özet bilinen bir zararlı yazılım imzasıyla eşleşiyorsa true döner.
+     */
+    public boolean isKnownMalware(ApkHashes hashes) {
+        return signatures.contains(hashes.getSha256());
+    }
+
+    /**
+     * İmza eşleme aşaması: özetleri ve paket bilgisini bilinen tehditlerle karşılaştırır.
+     */
+    public AppVerdict match(PackageInfo packageInfo, @Nullable ApkHashes hashes) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        AppVerdict verdict = new AppVerdict(packageInfo.packageName, packageInfo.applicationInfo.sourceDir, hashes, false, false);
+        if (hashes != null && isKnownMalware(hashes)) {
+            verdict.flag("Known malware hash");
+        } else if (hashes != null) {
+            int distance = nearestKnownVariant(hashes);
+            if (distance >= 0) {
+                verdict.flag("Similar to known malware (distance " + distance + ")");
+            }
+        }
+        inspectArchive(packageInfo, verdict);
+        if (shouldFlagAsSuspicious(packageInfo.packageName)) {
+            verdict.flag("Suspicious package name");
+        }
+        metrics.match.record(SystemClock.elapsedRealtimeNanos() - start);
+        return verdict;
+    }
+
+    /**
+     * Benzerlik özetine {@link #SIMILARITY_THRESHOLD} uzaklık içinde bilinen bir
+     * zararlı varsa en küçük uzaklığı, yoksa -1 döner.
+     */
+    public int nearestKnownVariant(ApkHashes hashes) {
+        byte[] similarityHash = hashes.getSimilarityHash();
+        SimilarityIndex index = similarityIndex();
+        if (similarityHash == null || index == null) {
+            return -1;
+        }
+        return index.nearest(similarityHash, SIMILARITY_THRESHOLD);
+    }
+
+    /**
+     * Benzerlik indeksini ilk kullanımda belleğe eşler; indeks yoksa null.
+     */
+    @Nullable
+    private SimilarityIndex similarityIndex() {
+        SimilarityIndex index = similarityIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            if (!similarityIndexOpened) {
+                similarityIndexOpened = true;
+                File file = new File(signatures.getDirectory(), SIMILARITY_INDEX_FILE);
+                if (file.exists()) {
+                    try {
+                        similarityIndex = SimilarityIndex.open(file);
+                        Log.d(TAG, "Similarity index v" + similarityIndex.getVersion() + " mapped with "
+                            + similarityIndex.getRecordCount() + " records");
+                    } catch (IOException e) {
+                        Log.e(TAG, "Could not open similarity index", e);
+                    }
+                }
+            }
+            return similarityIndex;
+        }
+    }
+
+    /**
+     * İndirilen bir benzerlik indeksini doğrular, imza dizinine kopyalar ve
+     * atomik olarak devreye alır. Süren sorgular eski eşleme üzerinden tamamlanır.
+     * Önbellekteki kararlar benzerlik özeti saklamadığından silinir; değişmemiş
+     * uygulamalar da bir sonraki taramada yeni indekse karşı sorgulanır.
+     * Yeni indeksin sürümünü döner.
+     */
+    public synchronized long installSimilarityIndex(File source) throws IOException {
+        // Önce doğrula; bozuk dosya yayına alınmasın
+        SimilarityIndex.open(source);
+
+        File target = copyIntoSignatureDirectory(source, SIMILARITY_INDEX_FILE);
+        similarityIndex = SimilarityIndex.open(target);
+        similarityIndexOpened = true;
+        clearVerdictCache();
+        Log.d(TAG, "Installed similarity index v" + similarityIndex.getVersion() + " with "
+            + similarityIndex.getRecordCount() + " records");
+        return similarityIndex.getVersion();
+    }
+
+    /**
+     * Güncel içerik kuralları: imza dizininde kural dosyası varsa o, yoksa
+     * yerleşik kurallar. Dosya ilk kullanımda bir kez derlenir.
+     */
+    public RuleSet getContentRules() {
+        RuleSet rules = contentRules;
+        if (rules != null) {
+            return rules;
+        }
+        synchronized (this) {
+            if (contentRules == null) {
+                File file = new File(signatures.getDirectory(), CONTENT_RULES_FILE);
+                RuleSet loaded = HeuristicPatterns.defaultContentRules();
+                if (file.exists()) {
+                    try {
+                        loaded = RuleSet.load(file);
+                        Log.d(TAG, "Content rules compiled: " + loaded.getRuleCount() + " rules, "
+                            + loaded.getPatternCount() + " patterns");
+                    } catch (IOException e) {
+                        Log.e(TAG, "Could not compile content rules, using built-in rules", e);
+                    }
+                }
+                contentRules = loaded;
+            }
+            return contentRules;
+        }
+    }
+
+    /**
+     * İndirilen bir kural dosyasını derleyip doğrular, imza dizinine kopyalar
+     * ve devreye alır. Önbellekteki kararlar eski kurallarla verildiğinden
+     * silinir. Kural sayısını döner.
+     */
+    public synchronized int installContentRules(File source) throws IOException {
+        // Önce derle; hatalı kural dosyası yayına alınmasın
+        RuleSet rules = RuleSet.load(source);
+        copyIntoSignatureDirectory(source, CONTENT_RULES_FILE);
+        contentRules = rules;
+        clearVerdictCache();
+        Log.d(TAG, "Installed content rules: " + rules.getRuleCount() + " rules, "
+            + rules.getPatternCount() + " patterns");
+        return rules.getRuleCount();
+    }
+
+    /**
+     * Dosyayı imza dizinine geçici adla kopyalayıp atomik olarak {@code fileName} yapar.
+     */
+    private File copyIntoSignatureDirectory(File source, String fileName) throws IOException {
+        File directory = signatures.getDirectory();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        File prepared = new File(directory, fileName + ".new");
+        try (InputStream in = new FileInputStream(source);
+             FileOutputStream out = new FileOutputStream(prepared)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.getFD().sync();
+        }
+        File target = new File(directory, fileName);
+        if (!prepared.renameTo(target)) {
+            prepared.delete();
+            throw new IOException("Could not move " + prepared + " to " + target);
+        }
+        return target;
+    }
+
+    /**
+     * Bu thread'in tarayıcısını güncel kural kümesine göre döner.
+     */
+    private RuleScanner ruleScanner() {
+        RuleSet rules = getContentRules();
+        RuleScanner scanner = ruleScanners.get();
+        if (scanner == null || scanner.getRuleSet() != rules) {
+            scanner = rules.newScanner();
+            ruleScanners.set(scanner);
+        }
+        return scanner;
+    }
+
+    /**
+     * Karar toplama aşaması: yeni kararı önbelleğe yazar. Okunamayan APK'lar
+     * önbelleğe alınmaz, bir sonraki taramada tekrar denenir.
+     */
+    public void record(PackageInfo packageInfo, AppVerdict verdict) {
+        ApkHashes hashes = verdict.getHashes();
+        if (verdict.isFromCache() || hashes == null) {
+            return;
+        }
+        getVerdictCache().put(
+            packageInfo.packageName,
+            packageInfo.lastUpdateTime,
+            hashes.getSize(),
+            verdict.isSuspicious() ? VerdictCache.VERDICT_SUSPICIOUS : VerdictCache.VERDICT_CLEAN,
+            hashes.getSha256(),
+            verdict.getSignerDigests()
+        );
+    }
+
+    public void saveVerdictCache() {
+        try {
+            getVerdictCache().save();
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save verdict cache", e);
+        }
+    }
+
+    /**
+     * Önbellekteki tüm kararları siler. Tespit verisi bir kararı geri
+     * alabilecek şekilde değiştiğinde (ör. bir imzanın kaldırılması) çağrılır;
+     * her uygulama bir sonraki taramada yeniden analiz edilir.
+     */
+    public void clearVerdictCache() {
+        getVerdictCache().retainAll(Collections.<String>emptySet());
+        saveVerdictCache();
+    }
+
+    /**
+     * Uygulamanın bilinen zararlı bir sertifikayla imzalanıp imzalanmadığını
+     * kontrol eder. Paket alıcısı gibi tam analiz yapmayan çağıranlar içindir.
+     */
+    public boolean hasKnownBadSigner(PackageInfo packageInfo) {
+        String apkPath = packageInfo.applicationInfo.sourceDir;
+        try (ApkArchive archive = ApkArchive.open(new File(apkPath))) {
+            return isKnownBadSigner(signerDigests(packageInfo.packageName, archive));
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read archive " + apkPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * APK'nın yalnızca merkezi dizinini ve imza bloğunu okuyarak yapısal risk
+     * işaretlerini ve imzalayan kararını toplar.
+     */
+    private void inspectArchive(PackageInfo packageInfo, AppVerdict verdict) {
+        String apkPath = packageInfo.applicationInfo.sourceDir;
+        try (ApkArchive archive = ApkArchive.open(new File(apkPath))) {
+            List<byte[]> signers = signerDigests(packageInfo.packageName, archive);
+            verdict.setSignerDigests(signers);
+            if (isKnownBadSigner(signers)) {
+                verdict.flag("Known malicious signing certificate");
+            }
+            if (archive.getEntry("AndroidManifest.xml") == null) {
+                verdict.addSignal("Missing AndroidManifest.xml");
+            }
+            for (ApkArchive.Entry entry : archive.getEntries()) {
+                String name = entry.getName();
+                // assets/ altında saklanan kod, çalışma anında yüklenen gizli yükler için yaygındır
+                if (name.startsWith("assets/")
+                        && (name.endsWith(".dex") || name.endsWith(".apk") || name.endsWith(".jar"))) {
+                    verdict.addSignal("Embedded code payload: " + name);
+                }
+            }
+            inspectDex(archive, verdict);
+            inspectNativeLibraries(archive, verdict);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read archive " + apkPath, e);
+            verdict.addSignal("Unreadable APK archive");
+        }
+        inspectSplitArchives(packageInfo, verdict);
+    }
+
+    /**
+     * App bundle ile kurulan uygulamalarda yerel kütüphaneler taban APK'da
+     * değil split_config.&lt;abi&gt;.apk gibi bölünmüş APK'lardadır.
+     */
+    private void inspectSplitArchives(PackageInfo packageInfo, AppVerdict verdict) {
+        String[] splitPaths = packageInfo.applicationInfo.splitSourceDirs;
+        if (splitPaths == null) {
+            return;
+        }
+        for (String splitPath : splitPaths) {
+            try (ApkArchive archive = ApkArchive.open(new File(splitPath))) {
+                inspectNativeLibraries(archive, verdict);
+            } catch (IOException e) {
+                Log.w(TAG, "Could not read archive " + splitPath, e);
+                verdict.addSignal("Unreadable split APK: " + new File(splitPath).getName());
+            }
+        }
+    }
+
+    /**
+     * Kök dizindeki tüm classes*.dex girişlerinin API referanslarını ve açılmış
+     * içeriklerini içerik kurallarına karşı tarar.
+     */
+    private void inspectDex(ApkArchive archive, AppVerdict verdict) throws IOException {
+        ApkEntryReader reader = entryReaders.get();
+        DexScanner scanner = dexScanners.get();
+        RuleScanner rules = ruleScanner();
+        rules.begin();
+        int flags = 0;
+        try {
+            for (ApkArchive.Entry entry : archive.getEntries()) {
+                String name = entry.getName();
+                if (!name.startsWith("classes") || !name.endsWith(".dex") || name.indexOf('/') >= 0) {
+                    continue;
+                }
+                ByteBuffer dex = reader.read(archive, entry, MAX_DEX_SIZE);
+                if (dex == null) {
+                    verdict.addSignal("Oversized DEX file: " + name);
+                    continue;
+                }
+                // Her DEX ayrı bir akıştır; eşleşmeler APK genelinde birleştirilir
+                rules.update(dex);
+                rules.endStream();
+                try {
+                    flags |= scanner.scan(dex);
+                } catch (IOException e) {
+                    Log.w(TAG, "Could not parse " + name + " in " + verdict.getPackageName(), e);
+                    verdict.addSignal("Malformed DEX file: " + name);
+                }
+            }
+        } finally {
+            // Büyük bir DEX için büyüyen açma tamponu thread'de tutulmaz
+            reader.trim();
+        }
+        if (flags != 0) {
+            verdict.addSignal("Suspicious API usage: " + DexScanner.describe(flags));
+        }
+        List<String> matchedRules = rules.finish();
+        if (!matchedRules.isEmpty()) {
+            verdict.flag("Content rule match: " + RuleScanner.describe(matchedRules));
+        }
+    }
+
+    /**
+     * Cihazın birincil ABI'sine ait lib/&lt;abi&gt;/*.so girişlerini inceler.
+     * Tüm kütüphaneler imzalara karşı özetlenir; ELF incelemesi yalnızca
+     * konumlu okunabilen sıkıştırılmamış girişlerde yapılır. Aynı içerikteki
+     * kütüphane başka bir uygulamada incelendiyse bayrakları önbellekten alınır.
+     */
+    private void inspectNativeLibraries(ApkArchive archive, AppVerdict verdict) throws IOException {
+        String prefix = nativeLibraryPrefix(archive);
+        if (prefix == null) {
+            return;
+        }
+        for (ApkArchive.Entry entry : archive.getEntries()) {
+            String name = entry.getName();
+            if (!name.startsWith(prefix) || !name.endsWith(".so") || name.indexOf('/', prefix.length()) >= 0) {
+                continue;
+            }
+            inspectNativeLibrary(archive, entry, verdict);
+        }
+    }
+
+    private void inspectNativeLibrary(ApkArchive archive, ApkArchive.Entry entry, AppVerdict verdict)
+            throws IOException {
+        String name = entry.getName();
+        byte[] sha256 = entryReaders.get().sha256(archive, entry, MAX_NATIVE_LIBRARY_SIZE);
+        if (sha256 == null) {
+            verdict.addSignal("Oversized native library: " + name);
+            return;
+        }
+        if (signatures.contains(sha256)) {
+            verdict.flag("Known malware native library: " + name);
+        }
+
+        Integer flags = nativeLibraries.get(sha256);
+        if (flags == null) {
+            if (!entry.isStored()) {
+                // Sıkıştırılmış kütüphaneler belleğe açılmaz; yalnızca özetleri eşleştirilir
+                return;
+            }
+            try {
+                flags = elfInspectors.get().inspect(archive.getChannel(), archive.getDataOffset(entry), entry.getSize());
+            } catch (IOException e) {
+                Log.w(TAG, "Could not parse " + name + " in " + verdict.getPackageName(), e);
+                verdict.addSignal("Malformed native library: " + name);
+                return;
+            }
+            nativeLibraries.put(sha256, flags);
+        }
+        if (flags != 0) {
+            verdict.addSignal("Suspicious native code in " + name + ": " + ElfInspector.describe(flags));
+        }
+    }
+
+    /**
+     * APK'da bulunan ABI'ler arasından cihazın en çok tercih ettiğinin
+     * "lib/&lt;abi&gt;/" önekini döner; paket yöneticisi de kütüphaneleri bu
+     * sırayla seçer. Uygun ABI yoksa null.
+     */
+    @Nullable
+    private static String nativeLibraryPrefix(ApkArchive archive) {
+        String best = null;
+        int bestRank = Integer.MAX_VALUE;
+        for (ApkArchive.Entry entry : archive.getEntries()) {
+            String name = entry.getName();
+            int slash = name.indexOf('/', 4);
+            if (!name.startsWith("lib/") || slash < 0) {
+                continue;
+            }
+            for (int rank = 0; rank < Build.SUPPORTED_ABIS.length && rank < bestRank; rank++) {
+                String abi = Build.SUPPORTED_ABIS[rank];
+                if (abi.length() == slash - 4 && name.startsWith(abi, 4)) {
+                    best = name.substring(0, slash + 1);
+                    bestRank = rank;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<byte[]> signerDigests(String packageName, ApkArchive archive) {
+        List<byte[]> digests;
+        try {
+            digests = ApkSigningBlock.readSignerCertificateDigests(archive);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not parse signing block of " + packageName, e);
+            digests = new ArrayList<>();
+        }
+        if (digests.isEmpty()) {
+            // Yalnızca v1 (JAR) imzalı APK'lar için sertifikaları platformdan al
+            digests = legacySignerDigests(packageName);
+        }
+        return digests;
+    }
+
+    private boolean isKnownBadSigner(List<byte[]> signerDigests) {
+        for (byte[] digest : signerDigests) {
+            if (certificateVerdicts.isKnownBad(digest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("deprecation")
+    private List<byte[]> legacySignerDigests(String packageName) {
+        List<byte[]> digests = new ArrayList<>();
+        try {
+            PackageInfo info = context.getPackageManager().getPackageInfo(packageName, PackageManager.GET_SIGNATURES);
+            if (info.signatures != null) {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (Signature signature : info.signatures) {
+                    digests.add(sha256.digest(signature.toByteArray()));
+                }
+            }
+        } catch (PackageManager.NameNotFoundException | NoSuchAlgorithmException e) {
+            Log.w(TAG, "Could not read signatures of " + packageName, e);
+        }
+        return digests;
+    }
+
+    private boolean shouldFlagAsSuspicious(String packageName) {
+        // Paket adını paylaşılan şüpheli desen otomatı ile tek geçişte tara
+        return HeuristicPatterns.packageNames().matches(packageName);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Devam eden bir taramada analizi tamamlanan paketleri kaydeden, yalnızca
+ * sona eklenen günlük.
+ *
+ * Servis veya iş tarama ortasında öldürülürse sonraki çalışma günlüğü okuyup
+ * tamamlanan paketleri atlar. Her kayıt kendi CRC'sini taşır; yarım kalmış son
+ * kayıt okunurken ayıklanır ve dosya geçerli önekine kısaltılır. Disk
+ * senkronizasyonu her {@link #SYNC_EVERY} kayıtta ya da {@link #SYNC_INTERVAL_MS}
+ * geçtiğinde toplu yapılır; ani bir kapanmada en fazla son grup tekrar analiz
+ * edilir. Dosya biçimi:
+ *
+ * <pre>
+ * int magic, byte version, long scanId, boolean fullScan
+ * n x { UTF packageName, long lastUpdateTime, byte verdict, int crc32 }
+ * </pre>
+ *
+ * Tarama tamamlandığında günlük silinir.
+ */
+public final class ScanJournal {
+    private static final String TAG = "ScanJournal";
+    private static final int MAGIC = 0x41534A31; // "ASJ1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 1;
+    private static final int SYNC_EVERY = 32;
+    private static final long SYNC_INTERVAL_MS = 2000;
+
+    private final File file;
+    private final Map<String, Long> completed = new HashMap<>();
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(128);
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+    private final CRC32 crc = new CRC32();
+    private long scanId;
+    private boolean fullScan;
+    private long validLength;
+    private int suspiciousCount;
+
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    private int unsynced;
+    private long lastSync;
+
+    private ScanJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Adı verilen taramanın günlüğünü açar ve varsa önceki çalışmadan kalan
+     * kayıtları yükler.
+     */
+    public static ScanJournal open(Context context, String name) {
+        ScanJournal journal = new ScanJournal(journalFile(context, name));
+        if (journal.file.exists()) {
+            try {
+                journal.load();
+            } catch (IOException e) {
+                Log.w(TAG, "Discarding unreadable scan journal", e);
+                journal.reset();
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Adı verilen tarama yarıda kalmışsa true döner. Günlük içeriği okunmaz.
+     */
+    public static boolean hasPending(Context context, String name) {
+        return journalFile(context, name).length() > HEADER_SIZE;
+    }
+
+    private static File journalFile(Context context, String name) {
+        return new File(context.getFilesDir(), "scan_journal_" + name + ".bin");
+    }
+
+    /**
+     * Taramayı başlatır. Aynı türde yarım kalmış bir tarama varsa onun
+     * kayıtlarının ardına eklenir, yoksa yeni bir günlük açılır. Günlük
+     * yazılamazsa tarama günlüksüz sürer.
+     */
+    public synchronized void begin(boolean fullScan) {
+        closeQuietly();
+        try {
+            if (scanId == 0 || this.fullScan != fullScan) {
+                reset();
+                this.fullScan = fullScan;
+                this.scanId = System.currentTimeMillis();
+                writeHeader();
+            } else {
+                // Yarım kalmış son kaydı at
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    if (raf.length() > validLength) {
+                        raf.setLength(validLength);
+                    }
+                }
+                Log.d(TAG, "Resuming scan " + scanId + " with " + completed.size() + " completed packages");
+            }
+            fileOut = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut, 4096));
+            lastSync = SystemClock.elapsedRealtime();
+        } catch (IOException e) {
+            Log.w(TAG, "Scan journal unavailable, progress will not be saved", e);
+            closeQuietly();
+        }
+    }
+
+    public synchronized boolean isResuming() {
+        return !completed.isEmpty();
+    }
+
+    public synchronized int getCompletedCount() {
+        return completed.size();
+    }
+
+    public synchronized int getSuspiciousCount() {
+        return suspiciousCount;
+    }
+
+    /**
+     * Paket bu taramada aynı sürümüyle zaten analiz edildiyse true döner.
+     */
+    public synchronized boolean isCompleted(String packageName, long lastUpdateTime) {
+        Long recorded = completed.get(packageName);
+        return recorded != null && recorded == lastUpdateTime;
+    }
+
+    /**
+     * Analizi biten paketi günlüğe ekler. İşçi thread'lerinden çağrılır.
+     */
+    public synchronized void record(String packageName, long lastUpdateTime, boolean suspicious) {
+        if (completed.put(packageName, lastUpdateTime) == null && suspicious) {
+            suspiciousCount++;
+        }
+        if (out == null) {
+            return;
+        }
+        try {
+            recordBytes.reset();
+            record.writeUTF(packageName);
+            record.writeLong(lastUpdateTime);
+            record.writeByte(suspicious ? VerdictCache.VERDICT_SUSPICIOUS : VerdictCache.VERDICT_CLEAN);
+            crc.reset();
+            crc.update(recordBytes.toByteArray(), 0, recordBytes.size());
+            recordBytes.writeTo(out);
+            out.writeInt((int) crc.getValue());
+            validLength += recordBytes.size() + 4;
+
+            unsynced++;
+            long now = SystemClock.elapsedRealtime();
+            if (unsynced >= SYNC_EVERY || now - lastSync >= SYNC_INTERVAL_MS) {
+                sync();
+                lastSync = now;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not append to scan journal", e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Tarama kesildiğinde çağrılır: bekleyen kayıtları diske yazar ve günlüğü
+     * bir sonraki çalışma için saklar.
+     */
+    public synchronized void suspend() {
+        if (out != null) {
+            try {
+                sync();
+            } catch (IOException e) {
+                Log.w(TAG, "Could not sync scan journal", e);
+            }
+        }
+        closeQuietly();
+    }
+
+    /**
+     * Tarama sonuna kadar ilerlediğinde çağrılır; günlük silinir.
+     */
+    public synchronized void complete() {
+        closeQuietly();
+        reset();
+    }
+
+    private void load() throws IOException {
+        long length = file.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                throw new IOException("Not a scan journal");
+            }
+            scanId = in.readLong();
+            fullScan = in.readBoolean();
+            validLength = HEADER_SIZE;
+
+            byte[] buffer = new byte[256];
+            while (validLength < length) {
+                try {
+                    // Kayıt, CRC'si doğrulanana kadar ayrıştırılmaz
+                    int nameLength = in.readUnsignedShort();
+                    int recordLength = 2 + nameLength + 8 + 1;
+                    if (buffer.length < recordLength) {
+                        buffer = new byte[recordLength];
+                    }
+                    buffer[0] = (byte) (nameLength >>> 8);
+                    buffer[1] = (byte) nameLength;
+                    in.readFully(buffer, 2, recordLength - 2);
+                    int storedCrc = in.readInt();
+                    crc.reset();
+                    crc.update(buffer, 0, recordLength);
+                    if ((int) crc.getValue() != storedCrc) {
+                        break;
+                    }
+
+                    DataInputStream fields = new DataInputStream(new ByteArrayInputStream(buffer, 0, recordLength));
+                    String packageName = fields.readUTF();
+                    long lastUpdateTime = fields.readLong();
+                    byte verdict = fields.readByte();
+                    if (completed.put(packageName, lastUpdateTime) == null
+                            && verdict == VerdictCache.VERDICT_SUSPICIOUS) {
+                        suspiciousCount++;
+                    }
+                    validLength += recordLength + 4;
+                } catch (EOFException e) {
+                    // Yazımı yarıda kalmış son kayıt
+                    break;
+                }
+            }
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        FileOutputStream headerOut = new FileOutputStream(file);
+        try {
+            DataOutputStream header = new DataOutputStream(headerOut);
+            header.writeInt(MAGIC);
+            header.writeByte(FORMAT_VERSION);
+            header.writeLong(scanId);
+            header.writeBoolean(fullScan);
+            header.flush();
+            headerOut.getFD().sync();
+        } finally {
+            headerOut.close();
+        }
+        validLength = HEADER_SIZE;
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        fileOut.getFD().sync();
+        unsynced = 0;
+    }
+
+    private void reset() {
+        completed.clear();
+        suspiciousCount = 0;
+        scanId = 0;
+        validLength = 0;
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Could not delete scan journal " + file);
+        }
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Kapatma hatası kayıtları etkilemez; CRC yarım kaydı ayıklar
+            }
+        }
+        out = null;
+        fileOut = null;
+        unsynced = 0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.antivirus_app.scanner;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tarama hattının süreç genelindeki performans ölçümleri.
+ *
+ * Aşama süreleri (listeleme, okuma, özet, eşleme) logaritmik kovalı
+ * histogramlarda tutulur; okunan bayt, önbellek isabeti, kuyruk derinliği ve
+ * tarama başına CPU süresi sayaçlardadır. Kayıt işlemleri kilitsizdir ve işçi
+ * thread'lerinden doğrudan çağrılabilir. Anlık görüntü Flutter'a
+ * {@link #snapshot()} ile, logcat'e {@link #dump()} ile verilir.
+ */
+public final class ScanMetrics {
+    private static final ScanMetrics INSTANCE = new ScanMetrics();
+
+    public final Histogram enumerate = new Histogram();
+    public final Histogram read = new Histogram();
+    public final Histogram hash = new Histogram();
+    public final Histogram match = new Histogram();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong lastScanWallNanos = new AtomicLong();
+    private final AtomicLong lastScanCpuNanos = new AtomicLong();
+    private final AtomicLong totalCpuNanos = new AtomicLong();
+
+    private ScanMetrics() {
+    }
+
+    public static ScanMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void cacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    public void cacheMiss() {
+        cacheMisses.incrementAndGet();
+    }
+
+    /**
+     * İşçi havuzunda bekleyen ve çalışan görev sayısını bildirir.
+     */
+    public void queueDepth(int depth) {
+        queueDepth.set(depth);
+        updateMax(maxQueueDepth, depth);
+    }
+
+    /**
+     * Biten bir taramanın duvar saati ve tüm thread'lerde harcanan CPU süresini kaydeder.
+     */
+    public void recordScan(long wallNanos, long cpuNanos) {
+        scans.incrementAndGet();
+        lastScanWallNanos.set(wallNanos);
+        lastScanCpuNanos.set(cpuNanos);
+        totalCpuNanos.addAndGet(cpuNanos);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> map = new HashMap<>();
+        Map<String, Object> stages = new HashMap<>();
+        stages.put("enumerate", enumerate.toMap());
+        stages.put("read", read.toMap());
+        stages.put("hash", hash.toMap());
+        stages.put("match", match.toMap());
+        map.put("stages", stages);
+        map.put("bytesRead", bytesRead.get());
+        map.put("cacheHits", cacheHits.get());
+        map.put("cacheMisses", cacheMisses.get());
+        map.put("cacheHitRate", cacheHitRate());
+        map.put("queueDepth", queueDepth.get());
+        map.put("maxQueueDepth", maxQueueDepth.get());
+        map.put("scans", scans.get());
+        map.put("lastScanWallMs", lastScanWallNanos.get() / 1000000L);
+        map.put("lastScanCpuMs", lastScanCpuNanos.get() / 1000000L);
+        map.put("totalCpuMs", totalCpuNanos.get() / 1000000L);
+        return map;
+    }
+
+    /**
+     * Tek satırlık özet; aşamalar için "sayı/p50/p95/maks" milisaniye cinsindendir.
+     */
+    public String dump() {
+        return String.format(Locale.US,
+            "scans=%d wall=%dms cpu=%dms enum=%s read=%s hash=%s match=%s bytes=%d hit=%.2f queue=%d/%d",
+            scans.get(),
+            lastScanWallNanos.get() / 1000000L,
+            lastScanCpuNanos.get() / 1000000L,
+            enumerate.summary(), read.summary(), hash.summary(), match.summary(),
+            bytesRead.get(), cacheHitRate(), queueDepth.get(), maxQueueDepth.get());
+    }
+
+    private double cacheHitRate() {
+        long hits = cacheHits.get();
+        long total = hits + cacheMisses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Mikrosaniye cinsinden 2'nin kuvvetleri sınırlı kovalardan oluşan
+     * histogram. Yüzdelikler kova üst sınırıyla yaklaşık verilir.
+     */
+    public static final class Histogram {
+        // Son kova ~35 dakikanın üzerindeki tüm değerleri toplar
+        private static final int BUCKETS = 32;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public void record(long nanos) {
+            if (nanos < 0) {
+                return;
+            }
+            long micros = nanos / 1000L;
+            int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            sumNanos.addAndGet(nanos);
+            updateMax(maxNanos, nanos);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        /**
+         * Yaklaşık yüzdelik değeri milisaniye cinsinden döner.
+         */
+        public double percentileMs(double percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    // Kova i, [2^(i-1), 2^i) mikrosaniye aralığıdır
+                    return Math.min((1L << i) / 1000.0, maxNanos.get() / 1000000.0);
+                }
+            }
+            return maxNanos.get() / 1000000.0;
+        }
+
+        Map<String, Object> toMap() {
+            long n = count.get();
+            Map<String, Object> map = new HashMap<>();
+            map.put("count", n);
+            map.put("meanMs", n == 0 ? 0.0 : sumNanos.get() / 1000000.0 / n);
+            map.put("p50Ms", percentileMs(0.50));
+            map.put("p95Ms", percentileMs(0.95));
+            map.put("maxMs", maxNanos.get() / 1000000.0);
+            return map;
+        }
+
+        String summary() {
+            return String.format(Locale.US, "%d/%.1f/%.1f/%.1f",
+                count.get(), percentileMs(0.50), percentileMs(0.95), maxNanos.get() / 1000000.0);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.pm.PackageInfo;
+import android.os.Debug;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Yüklü uygulamaları aşamalı bir hatta tarar:
+ * listeleme → okuma/özet → imza eşleme → karar toplama.
+ *
+ * Listeleme ve önbellek kontrolü çağıran thread'de yapılır; değişmiş APK'lar
+ * çekirdek sayısına göre boyutlanan bir işçi havuzunda analiz edilir. Aynı anda
+ * çalışan görev sayısı {@link ScanThrottle} tarafından pil ve ısı durumuna göre
+ * sınırlanır.
+ *
+ * Analizi biten paketler verilen {@link ScanJournal}'a yazılır; kesilen bir
+ * tarama yeniden başlatıldığında bu paketler atlanır.
+ */
+public final class ScanPipeline {
+    private static final String TAG = "ScanPipeline";
+    private static final int MAX_WORKERS = 4;
+
+    /**
+     * Karar toplama aşamasının çıktısı. İşçi thread'lerinden çağrılır.
+     */
+    public interface Listener {
+        void onVerdict(AppVerdict verdict);
+    }
+
+    private final ScanEngine engine;
+    private final ScanThrottle throttle;
+    private final ThreadPoolExecutor workers;
+    private final PackageEnumerator enumerator;
+    private final ScanMetrics metrics = ScanMetrics.getInstance();
+    private final AtomicLong workerCpuNanos = new AtomicLong();
+
+    private final Object slotLock = new Object();
+    private int inFlight;
+    private volatile boolean cancelled;
+
+    public ScanPipeline(ScanEngine engine) {
+        this.engine = engine;
+        this.enumerator = PackageEnumerator.getInstance(engine.getContext());
+        int workerCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS));
+        this.throttle = new ScanThrottle(engine.getContext(), workerCount);
+        this.workers = new ThreadPoolExecutor(
+            workerCount,
+            workerCount,
+            30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new WorkerThreadFactory()
+        );
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sistem dışı tüm uygulamaları tarar ve bütün kararlar toplanana kadar bekler.
+     */
+    public void scanInstalledApps(Listener listener) throws InterruptedException {
+        scanInstalledApps(false, null, listener);
+    }
+
+    /**
+     * Uygulamaları tarar. Artımlı taramada yalnızca {@link PackageEnumerator}'ün
+     * bildirdiği değişmiş paketler sorgulanır; tam taramada önbellek atlanır ve
+     * her APK yeniden özetlenir. Tarama sonuna kadar ilerlediyse true döner ve günlük silinir;
+     * {@link #cancel()} ile durdurulduysa veya kesildiyse günlük sonraki
+     * çalışma için saklanır. Kesilen taramada işçi havuzu kapatılır; hat
+     * yeniden kullanılamaz.
+     */
+    public boolean scanInstalledApps(boolean fullScan, @Nullable ScanJournal journal, Listener listener)
+            throws InterruptedException {
+        cancelled = false;
+        if (journal != null) {
+            journal.begin(fullScan);
+        }
+
+        long scanStart = SystemClock.elapsedRealtimeNanos();
+        long cpuStart = Debug.threadCpuTimeNanos();
+        workerCpuNanos.set(0);
+
+        // Listeleme aşaması; artımlı taramada yalnızca son taramadan beri değişen paketler sorgulanır
+        long enumerateStart = SystemClock.elapsedRealtimeNanos();
+        PackageEnumerator.Changes changes = null;
+        List<PackageInfo> targets;
+        Set<String> installedPackages;
+        if (fullScan) {
+            targets = enumerator.getUserPackages(0);
+            installedPackages = new HashSet<>();
+            for (PackageInfo packageInfo : targets) {
+                installedPackages.add(packageInfo.packageName);
+            }
+        } else {
+            changes = enumerator.getChanges();
+            targets = changes.getChanged();
+            installedPackages = changes.getInstalled();
+        }
+        metrics.enumerate.record(SystemClock.elapsedRealtimeNanos() - enumerateStart);
+
+        if (changes != null && !changes.isComplete()) {
+            reportUnchanged(changes, listener);
+        }
+
+        boolean completed = false;
+        boolean idle = false;
+        try {
+            for (PackageInfo packageInfo : targets) {
+                if (cancelled) {
+                    break;
+                }
+
+                // Önceki çalışmada analiz edilmiş paketler
+                if (journal != null && journal.isCompleted(packageInfo.packageName, packageInfo.lastUpdateTime)) {
+                    continue;
+                }
+
+                // Değişmemiş uygulamalar işçi havuzuna hiç gönderilmez
+                if (!fullScan) {
+                    long apkSize = new File(packageInfo.applicationInfo.sourceDir).length();
+                    AppVerdict cached = engine.lookupCached(packageInfo, apkSize);
+                    if (cached != null) {
+                        listener.onVerdict(cached);
+                        continue;
+                    }
+                }
+
+                throttle.pause();
+                acquireSlot();
+                try {
+                    workers.execute(() -> {
+                        long taskCpuStart = Debug.threadCpuTimeNanos();
+                        try {
+                            AppVerdict verdict;
+                            try {
+                                verdict = analyze(packageInfo);
+                            } catch (RuntimeException e) {
+                                // İşçiden kaçan hata süreci sonlandırır; bozuk APK okunamaz sayılır
+                                Log.e(TAG, "Could not analyze " + packageInfo.packageName, e);
+                                verdict = unreadable(packageInfo);
+                            }
+                            listener.onVerdict(verdict);
+                            if (journal != null) {
+                                journal.record(packageInfo.packageName, packageInfo.lastUpdateTime,
+                                    verdict.isSuspicious());
+                            }
+                        } finally {
+                            addCpuTime(workerCpuNanos, taskCpuStart);
+                            releaseSlot();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            }
+            awaitIdle();
+            idle = true;
+            completed = !cancelled;
+        } finally {
+            if (!idle) {
+                // Kesildi: süren işçilerin kararları önbellek ve günlük kapanmadan yazılsın
+                drainWorkers();
+            }
+            addCpuTime(workerCpuNanos, cpuStart);
+            metrics.recordScan(SystemClock.elapsedRealtimeNanos() - scanStart, workerCpuNanos.get());
+            Log.i(TAG, metrics.dump());
+
+            // Günlük, kararlar önbelleğe yazıldıktan sonra kapatılır
+            engine.saveVerdictCache();
+            if (journal != null) {
+                if (completed) {
+                    journal.complete();
+                } else {
+                    journal.suspend();
+                }
+            }
+        }
+        if (!completed) {
+            return false;
+        }
+
+        // Kaldırılmış uygulamaların kayıtlarını temizle
+        engine.getVerdictCache().retainAll(installedPackages);
+        engine.saveVerdictCache();
+        if (changes != null) {
+            enumerator.commit(changes);
+        }
+        return true;
+    }
+
+    /**
+     * Devam eden taramayı yeni paket göndermeden durdurur; işlenmekte olanlar tamamlanır.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Değişmeyen paketlerin kararlarını paket bilgisi sorgulamadan önbellekten
+     * bildirir. Önbellekte kaydı olmayanlar (okunamayan APK'lar) tam taramada
+     * yeniden denenir.
+     */
+    private void reportUnchanged(PackageEnumerator.Changes changes, Listener listener) {
+        Set<String> changedPackages = new HashSet<>();
+        for (PackageInfo packageInfo : changes.getChanged()) {
+            changedPackages.add(packageInfo.packageName);
+        }
+        for (String packageName : changes.getInstalled()) {
+            if (!changedPackages.contains(packageName)) {
+                AppVerdict cached = engine.lookupUnchanged(packageName);
+                if (cached != null) {
+                    listener.onVerdict(cached);
+                }
+            }
+        }
+    }
+
+    private AppVerdict analyze(PackageInfo packageInfo) {
+        String apkPath = packageInfo.applicationInfo.sourceDir;
+
+        // Okuma/özet aşaması
+        ApkHashes hashes = null;
+        try {
+            hashes = engine.hash(apkPath);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not hash " + apkPath, e);
+        }
+
+        // İmza eşleme aşaması
+        AppVerdict verdict = engine.match(packageInfo, hashes);
+
+        // Karar toplama aşaması
+        engine.record(packageInfo, verdict);
+        return verdict;
+    }
+
+    /**
+     * Analizi beklenmedik bir hatayla biten paketin kararı. Özet içermediği
+     * için önbelleğe yazılmaz ve sonraki taramada yeniden denenir.
+     */
+    private static AppVerdict unreadable(PackageInfo packageInfo) {
+        AppVerdict verdict = new AppVerdict(packageInfo.packageName, packageInfo.applicationInfo.sourceDir,
+            null, false, false);
+        verdict.addSignal("Unreadable APK archive");
+        return verdict;
+    }
+
+    private void acquireSlot() throws InterruptedException {
+        synchronized (slotLock) {
+            while (inFlight >= throttle.getParallelism()) {
+                slotLock.wait();
+            }
+            inFlight++;
+            metrics.queueDepth(inFlight);
+        }
+    }
+
+    private void releaseSlot() {
+        synchronized (slotLock) {
+            inFlight--;
+            metrics.queueDepth(inFlight);
+            slotLock.notifyAll();
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        synchronized (slotLock) {
+            while (inFlight > 0) {
+                slotLock.wait();
+            }
+        }
+    }
+
+    /**
+     * Havuzu yeni görev almayacak şekilde kapatır ve kuyruktakiler dahil tüm
+     * görevler bitene kadar bekler. Bekleme kesilemez; kesme durumu sonunda
+     * geri yüklenir.
+     */
+    private void drainWorkers() {
+        workers.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Çağıran thread'in {@code start}'tan beri harcadığı CPU süresini ekler.
+     * Thread CPU saati desteklenmiyorsa (-1) bir şey yapmaz.
+     */
+    private static void addCpuTime(AtomicLong total, long start) {
+        long now = Debug.threadCpuTimeNanos();
+        if (start >= 0 && now >= start) {
+            total.addAndGet(now - start);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "scan-worker-" + count.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.antivirus_app.scanner;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+/**
+ * Pil ve ısı durumuna göre tarama hızını ayarlar.
+ *
+ * Sabit bir bekleme yerine, şarjda ve serin cihazda tüm işçileri beklemesiz
+ * çalıştırır; pil azaldıkça, güç tasarrufu açıkken ya da cihaz ısındıkça eş
+ * zamanlı işçi sayısını düşürüp görevler arasına bekleme ekler. Durum en fazla
+ * {@link #REFRESH_INTERVAL_MS} aralıklarla yeniden okunur.
+ */
+public final class ScanThrottle {
+    private static final String TAG = "ScanThrottle";
+    private static final long REFRESH_INTERVAL_MS = 5000;
+    private static final int LOW_BATTERY_PERCENT = 20;
+
+    private final Context context;
+    private final int maxParallelism;
+
+    private long lastRefresh = -REFRESH_INTERVAL_MS;
+    private int parallelism;
+    private long pauseMillis;
+
+    public ScanThrottle(Context context, int maxParallelism) {
+        this.context = context;
+        this.maxParallelism = maxParallelism;
+        this.parallelism = maxParallelism;
+    }
+
+    /**
+     * Şu anda aynı anda çalışmasına izin verilen görev sayısı.
+     */
+    public synchronized int getParallelism() {
+        refreshIfStale();
+        return parallelism;
+    }
+
+    /**
+     * Kısıtlı modlarda bir görev öncesinde beklenecek süre; kısıt yoksa 0.
+     */
+    public synchronized long getPauseMillis() {
+        refreshIfStale();
+        return pauseMillis;
+    }
+
+    public void pause() throws InterruptedException {
+        long millis = getPauseMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private void refreshIfStale() {
+        long now = SystemClock.elapsedRealtime();
+        if (now - lastRefresh < REFRESH_INTERVAL_MS) {
+            return;
+        }
+        lastRefresh = now;
+
+        boolean charging = false;
+        int batteryPercent = 100;
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery != null) {
+            charging = battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+            int level = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+            int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+            if (level >= 0 && scale > 0) {
+                batteryPercent = level * 100 / scale;
+            }
+        }
+
+        boolean powerSave = false;
+        int thermalStatus = PowerManager.THERMAL_STATUS_NONE;
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (powerManager != null) {
+            powerSave = powerManager.isPowerSaveMode();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                thermalStatus = powerManager.getCurrentThermalStatus();
+            }
+        }
+
+        int newParallelism;
+        long newPause;
+        if (thermalStatus >= PowerManager.THERMAL_STATUS_SEVERE) {
+            // Cihaz çok sıcak: tek işçi, uzun bekleme
+            newParallelism = 1;
+            newPause = 250;
+        } else if (thermalStatus >= PowerManager.THERMAL_STATUS_MODERATE || powerSave
+                || (!charging && batteryPercent < LOW_BATTERY_PERCENT)) {
+            newParallelism = 1;
+            newPause = 50;
+        } else if (thermalStatus >= PowerManager.THERMAL_STATUS_LIGHT || !charging) {
+            newParallelism = Math.max(1, maxParallelism / 2);
+            newPause = 0;
+        } else {
+            newParallelism = maxParallelism;
+            newPause = 0;
+        }
+
+        if (newParallelism != parallelism || newPause != pauseMillis) {
+            Log.d(TAG, "Throttle changed: parallelism=" + newParallelism + ", pause=" + newPause
+                + "ms (charging=" + charging + ", battery=" + batteryPercent + "%, powerSave=" + powerSave
+                + ", thermal=" + thermalStatus + ")");
+        }
+        parallelism = newParallelism;
+        pauseMillis = newPause;
+    }
+}
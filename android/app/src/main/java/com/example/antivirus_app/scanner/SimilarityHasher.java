@@ -0,0 +1,179 @@
+package com.example.antivirus_app.scanner;
+
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * TLSH benzeri, yerelliğe duyarlı benzerlik özeti.
+ *
+ * Beş baytlık kayan pencerenin altı üçlüsü Pearson özetiyle 128 kovaya
+ * dağıtılır. Kova sayaçları çeyrek değerlerine göre ikişer bite indirgenir;
+ * başlıkta bir sağlama baytı, uzunluk kovası ve çeyrek oranları bulunur.
+ * Küçük içerik değişiklikleri özetin yalnızca birkaç kovasını etkilediğinden
+ * yeniden paketlenmiş varyantlar arasındaki {@link #distance} küçük kalır.
+ *
+ * Özet, referans TLSH aracıyla bayt düzeyinde uyumlu değildir; imza
+ * veritabanındaki özetler bu sınıfla üretilmelidir. Uzun dosyalarda yalnızca
+ * ilk {@link #MAX_INPUT} bayt özetlenir. Örnekler thread-safe değildir.
+ */
+public final class SimilarityHasher {
+    public static final int DIGEST_SIZE = 3 + 32;
+    /** Özet gövdesinin başladığı konum; LSH bantları gövdeden alınır. */
+    public static final int BODY_OFFSET = 3;
+
+    private static final int BUCKETS = 128;
+    private static final int WINDOW = 5;
+    private static final long MIN_INPUT = 256;
+    private static final long MAX_INPUT = 16L * 1024 * 1024;
+    // Bu sayının altında dolu kova varsa dağılım anlamlı değildir (ör. sıfırlarla dolu dosya)
+    private static final int MIN_NONZERO_BUCKETS = BUCKETS / 2;
+
+    private static final int[] PEARSON = new int[256];
+
+    static {
+        // Sabit tohumlu karıştırma: tablo sürümler arasında değişmemelidir
+        for (int i = 0; i < 256; i++) {
+            PEARSON[i] = i;
+        }
+        long seed = 0x5DEECE66DL;
+        for (int i = 255; i > 0; i--) {
+            seed = (seed * 0x5DEECE66DL + 0xBL) & ((1L << 48) - 1);
+            int j = (int) ((seed >>> 17) % (i + 1));
+            int tmp = PEARSON[i];
+            PEARSON[i] = PEARSON[j];
+            PEARSON[j] = tmp;
+        }
+    }
+
+    private final int[] buckets = new int[BUCKETS];
+    private final int[] sorted = new int[BUCKETS];
+    private int w1;
+    private int w2;
+    private int w3;
+    private int w4;
+    private int checksum;
+    private long length;
+
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        w1 = w2 = w3 = w4 = 0;
+        checksum = 0;
+        length = 0;
+    }
+
+    /**
+     * Parçayı özete ekler; parçanın konumu değişmez.
+     */
+    public void update(ByteBuffer chunk) {
+        int start = chunk.position();
+        int end = chunk.limit();
+        if (length + (end - start) > MAX_INPUT) {
+            end = start + (int) Math.max(0, MAX_INPUT - length);
+        }
+        for (int i = start; i < end; i++) {
+            int w0 = chunk.get(i) & 0xFF;
+            if (length >= WINDOW - 1) {
+                checksum = pearson(0, w0, w1, checksum);
+                buckets[pearson(2, w0, w1, w2) & (BUCKETS - 1)]++;
+                buckets[pearson(3, w0, w1, w3) & (BUCKETS - 1)]++;
+                buckets[pearson(5, w0, w2, w3) & (BUCKETS - 1)]++;
+                buckets[pearson(7, w0, w2, w4) & (BUCKETS - 1)]++;
+                buckets[pearson(11, w0, w1, w4) & (BUCKETS - 1)]++;
+                buckets[pearson(13, w0, w3, w4) & (BUCKETS - 1)]++;
+            }
+            w4 = w3;
+            w3 = w2;
+            w2 = w1;
+            w1 = w0;
+            length++;
+        }
+    }
+
+    /**
+     * Özeti döner; girdi çok kısaysa ya da dağılım anlamlı değilse null.
+     */
+    @Nullable
+    public byte[] digest() {
+        if (length < MIN_INPUT) {
+            return null;
+        }
+        int nonzero = 0;
+        for (int count : buckets) {
+            if (count > 0) {
+                nonzero++;
+            }
+        }
+        if (nonzero < MIN_NONZERO_BUCKETS) {
+            return null;
+        }
+
+        System.arraycopy(buckets, 0, sorted, 0, BUCKETS);
+        Arrays.sort(sorted);
+        long q1 = sorted[BUCKETS / 4 - 1];
+        long q2 = sorted[BUCKETS / 2 - 1];
+        long q3 = sorted[BUCKETS * 3 / 4 - 1];
+        if (q3 == 0) {
+            return null;
+        }
+
+        byte[] digest = new byte[DIGEST_SIZE];
+        digest[0] = (byte) checksum;
+        digest[1] = (byte) lengthBucket(length);
+        int q1Ratio = (int) ((q1 * 100 / q3) % 16);
+        int q2Ratio = (int) ((q2 * 100 / q3) % 16);
+        digest[2] = (byte) ((q1Ratio << 4) | q2Ratio);
+        for (int b = 0; b < BUCKETS; b++) {
+            int count = buckets[b];
+            int code = count <= q1 ? 0 : count <= q2 ? 1 : count <= q3 ? 2 : 3;
+            digest[BODY_OFFSET + (b >>> 2)] |= (byte) (code << ((b & 3) << 1));
+        }
+        return digest;
+    }
+
+    /**
+     * İki özet arasındaki uzaklık; 0 özdeş demektir. Yaklaşık 30'un altı aynı
+     * aileden varyantlar için tipiktir.
+     */
+    public static int distance(byte[] a, int aOffset, byte[] b, int bOffset) {
+        int distance = 0;
+        if (a[aOffset] != b[bOffset]) {
+            distance++;
+        }
+        int lengthDiff = modDiff(a[aOffset + 1] & 0xFF, b[bOffset + 1] & 0xFF, 256);
+        distance += lengthDiff <= 1 ? lengthDiff : lengthDiff * 12;
+
+        int q1Diff = modDiff((a[aOffset + 2] >>> 4) & 0x0F, (b[bOffset + 2] >>> 4) & 0x0F, 16);
+        distance += q1Diff <= 1 ? q1Diff : (q1Diff - 1) * 12;
+        int q2Diff = modDiff(a[aOffset + 2] & 0x0F, b[bOffset + 2] & 0x0F, 16);
+        distance += q2Diff <= 1 ? q2Diff : (q2Diff - 1) * 12;
+
+        for (int i = BODY_OFFSET; i < DIGEST_SIZE; i++) {
+            int x = a[aOffset + i] & 0xFF;
+            int y = b[bOffset + i] & 0xFF;
+            for (int shift = 0; shift < 8; shift += 2) {
+                int d = Math.abs(((x >>> shift) & 3) - ((y >>> shift) & 3));
+                distance += d == 3 ? 6 : d;
+            }
+        }
+        return distance;
+    }
+
+    private static int pearson(int salt, int a, int b, int c) {
+        int h = PEARSON[salt];
+        h = PEARSON[h ^ a];
+        h = PEARSON[h ^ b];
+        return PEARSON[h ^ c];
+    }
+
+    private static int lengthBucket(long length) {
+        // log1.5 ölçeğinde; uzunluğu yarıdan fazla farklı dosyalar uzak düşer
+        return (int) (Math.log(length) / Math.log(1.5)) & 0xFF;
+    }
+
+    private static int modDiff(int x, int y, int range) {
+        int d = Math.abs(x - y);
+        return Math.min(d, range - d);
+    }
+}
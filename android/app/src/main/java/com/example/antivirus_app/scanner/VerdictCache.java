@@ -0,0 +1,252 @@
+package com.example.antivirus_app.scanner;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Uygulama başına son tarama kararını diskte saklayan önbellek.
+ *
+ * Kayıtlar (paket adı, lastUpdateTime, APK boyutu) üçlüsüyle eşleşir; üçünden
+ * biri değişmişse kayıt geçersiz sayılır ve APK yeniden analiz edilir. APK
+ * özeti ve imzalayan sertifika özetleri de saklanır; böylece imza ve sertifika
+ * veritabanı güncellemeleri APK yeniden okunmadan uygulanabilir. Dosya
+ * biçimi sıkıştırılmış ikili bir düzendir:
+ *
+ * <pre>
+ * int magic, int version, long rulesVersion, int count
+ * count x { UTF packageName, long lastUpdateTime, long apkSize, byte verdict, byte[32] sha256,
+ *           ushort signerCount, signerCount x byte[32] signerSha256 }
+ * long crc32
+ * </pre>
+ *
+ * CRC tutmazsa ya da kural sürümü değişmişse önbellek boş başlar.
+ */
+public final class VerdictCache {
+    public static final byte VERDICT_CLEAN = 0;
+    public static final byte VERDICT_SUSPICIOUS = 1;
+
+    private static final String TAG = "VerdictCache";
+    private static final int MAGIC = 0x41564331; // "AVC1"
+    private static final int FORMAT_VERSION = 2;
+    private static final int SHA256_LENGTH = 32;
+    private static final byte[] NO_HASH = new byte[SHA256_LENGTH];
+
+    private final File file;
+    private final long rulesVersion;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean dirty;
+
+    private VerdictCache(File file, long rulesVersion) {
+        this.file = file;
+        this.rulesVersion = rulesVersion;
+    }
+
+    /**
+     * Önbelleği diskten yükler. Dosya yoksa, bozuksa ya da farklı bir kural
+     * sürümüyle yazılmışsa boş bir önbellek döner.
+     */
+    public static VerdictCache open(File file, long rulesVersion) {
+        VerdictCache cache = new VerdictCache(file, rulesVersion);
+        if (file.exists()) {
+            try {
+                cache.load();
+            } catch (IOException e) {
+                Log.w(TAG, "Discarding unreadable verdict cache", e);
+                cache.entries.clear();
+                cache.dirty = true;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Sürüm kontrolü yapmadan kaydı döner; paketin değişmediği başka yoldan
+     * biliniyorsa kullanılır.
+     */
+    public synchronized Entry get(String packageName) {
+        return entries.get(packageName);
+    }
+
+    public synchronized Entry lookup(String packageName, long lastUpdateTime, long apkSize) {
+        Entry entry = entries.get(packageName);
+        if (entry != null && entry.lastUpdateTime == lastUpdateTime && entry.apkSize == apkSize) {
+            return entry;
+        }
+        return null;
+    }
+
+    public synchronized void put(String packageName, long lastUpdateTime, long apkSize, byte verdict, byte[] sha256,
+                                 List<byte[]> signerDigests) {
+        entries.put(packageName, new Entry(lastUpdateTime, apkSize, verdict, sha256 != null ? sha256 : NO_HASH,
+            signerDigests));
+        dirty = true;
+    }
+
+    public synchronized void remove(String packageName) {
+        if (entries.remove(packageName) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Artık cihazda bulunmayan paketlerin kayıtlarını siler.
+     */
+    public synchronized void retainAll(Collection<String> installedPackages) {
+        Iterator<String> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (!installedPackages.contains(it.next())) {
+                it.remove();
+                dirty = true;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Değişiklik varsa önbelleği geçici bir dosyaya yazıp atomik olarak yerine taşır.
+     */
+    public synchronized void save() throws IOException {
+        if (!dirty) {
+            return;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        FileOutputStream fileOut = new FileOutputStream(tmp);
+        try {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(rulesVersion);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.lastUpdateTime);
+                out.writeLong(entry.apkSize);
+                out.writeByte(entry.verdict);
+                out.write(entry.sha256);
+                out.writeShort(entry.signerDigests.size());
+                for (byte[] digest : entry.signerDigests) {
+                    out.write(digest);
+                }
+            }
+            out.flush();
+            long crc = checked.getChecksum().getValue();
+            out.writeLong(crc);
+            out.flush();
+            fileOut.getFD().sync();
+        } finally {
+            fileOut.close();
+        }
+
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+        dirty = false;
+    }
+
+    private void load() throws IOException {
+        try (FileInputStream fileIn = new FileInputStream(file)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(fileIn), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown verdict cache format");
+            }
+            if (in.readLong() != rulesVersion) {
+                // Tespit kuralları değişti; eski kararlar güvenilir değil
+                Log.d(TAG, "Rules version changed, starting with empty cache");
+                dirty = true;
+                return;
+            }
+
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Negative entry count");
+            }
+            for (int i = 0; i < count; i++) {
+                String packageName = in.readUTF();
+                long lastUpdateTime = in.readLong();
+                long apkSize = in.readLong();
+                byte verdict = in.readByte();
+                byte[] sha256 = new byte[SHA256_LENGTH];
+                in.readFully(sha256);
+                int signerCount = in.readUnsignedShort();
+                List<byte[]> signerDigests = new ArrayList<>(signerCount);
+                for (int s = 0; s < signerCount; s++) {
+                    byte[] digest = new byte[SHA256_LENGTH];
+                    in.readFully(digest);
+                    signerDigests.add(digest);
+                }
+                entries.put(packageName, new Entry(lastUpdateTime, apkSize, verdict, sha256, signerDigests));
+            }
+
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Verdict cache checksum mismatch");
+            }
+        } catch (EOFException e) {
+            throw new IOException("Truncated verdict cache", e);
+        }
+        Log.d(TAG, "Loaded " + entries.size() + " cached verdicts");
+    }
+
+    public static final class Entry {
+        private final long lastUpdateTime;
+        private final long apkSize;
+        private final byte verdict;
+        private final byte[] sha256;
+        private final List<byte[]> signerDigests;
+
+        Entry(long lastUpdateTime, long apkSize, byte verdict, byte[] sha256, List<byte[]> signerDigests) {
+            this.lastUpdateTime = lastUpdateTime;
+            this.apkSize = apkSize;
+            this.verdict = verdict;
+            this.sha256 = sha256;
+            this.signerDigests = signerDigests;
+        }
+
+        public byte getVerdict() {
+            return verdict;
+        }
+
+        public boolean isSuspicious() {
+            return verdict == VERDICT_SUSPICIOUS;
+        }
+
+        public byte[] getSha256() {
+            return sha256;
+        }
+
+        /**
+         * İmzalayan sertifikaların (DER) SHA-256 özetleri.
+         */
+        public List<byte[]> getSignerDigests() {
+            return Collections.unmodifiableList(signerDigests);
+        }
+    }
+}
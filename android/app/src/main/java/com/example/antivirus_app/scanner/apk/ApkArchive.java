@@ -0,0 +1,243 @@
+package com.example.antivirus_app.scanner.apk;
+
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * APK (ZIP) dosyasının merkezi dizinini okuyan hafif arşiv görünümü.
+ *
+ * Yalnızca dosya sonundaki "end of central directory" kaydı ve merkezi dizin
+ * konumsal {@link FileChannel} okumalarıyla ayrıştırılır; hiçbir giriş açılmaz.
+ * Girişlerin içeriği gerektiğinde {@link ApkEntryReader} ile doğrudan
+ * konumlarından okunur. ZIP64 arşivleri desteklenmez.
+ */
+public final class ApkArchive implements Closeable {
+    public static final int METHOD_STORED = 0;
+    public static final int METHOD_DEFLATED = 8;
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int CD_SIGNATURE = 0x02014b50;
+    private static final int LFH_SIGNATURE = 0x04034b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int CD_HEADER_SIZE = 46;
+    private static final int LFH_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final FileInputStream in;
+    private final FileChannel channel;
+    private final long centralDirectoryOffset;
+    private final List<Entry> entries;
+    private final Map<String, Entry> entriesByName;
+
+    private ApkArchive(FileInputStream in, FileChannel channel, long centralDirectoryOffset, List<Entry> entries) {
+        this.in = in;
+        this.channel = channel;
+        this.centralDirectoryOffset = centralDirectoryOffset;
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByName = new HashMap<>(entries.size() * 2);
+        for (Entry entry : entries) {
+            entriesByName.put(entry.name, entry);
+        }
+    }
+
+    public static ApkArchive open(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            long fileSize = channel.size();
+            if (fileSize < EOCD_SIZE) {
+                throw new IOException("Not a ZIP archive: " + file);
+            }
+
+            // EOCD kaydı dosyanın son 22 + 65535 baytı içinde bulunur
+            int tailSize = (int) Math.min(fileSize, EOCD_SIZE + MAX_COMMENT_SIZE);
+            ByteBuffer tail = readFully(channel, fileSize - tailSize, tailSize);
+            int eocd = -1;
+            for (int i = tailSize - EOCD_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == EOCD_SIGNATURE
+                        && i + EOCD_SIZE + (tail.getShort(i + 20) & 0xFFFF) == tailSize) {
+                    eocd = i;
+                    break;
+                }
+            }
+            if (eocd < 0) {
+                throw new IOException("End of central directory not found: " + file);
+            }
+
+            int entryCount = tail.getShort(eocd + 10) & 0xFFFF;
+            long cdSize = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+            long cdOffset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+            if (entryCount == 0xFFFF || cdSize == ZIP64_MARKER || cdOffset == ZIP64_MARKER) {
+                throw new IOException("ZIP64 archives are not supported: " + file);
+            }
+            long eocdOffset = fileSize - tailSize + eocd;
+            if (cdOffset + cdSize > eocdOffset) {
+                throw new IOException("Central directory out of bounds: " + file);
+            }
+
+            ByteBuffer cd = readFully(channel, cdOffset, (int) cdSize);
+            List<Entry> entries = new ArrayList<>(entryCount);
+            int position = 0;
+            for (int i = 0; i < entryCount; i++) {
+                if (position + CD_HEADER_SIZE > cdSize || cd.getInt(position) != CD_SIGNATURE) {
+                    throw new IOException("Corrupt central directory entry " + i + ": " + file);
+                }
+                int method = cd.getShort(position + 10) & 0xFFFF;
+                long crc = cd.getInt(position + 16) & 0xFFFFFFFFL;
+                long compressedSize = cd.getInt(position + 20) & 0xFFFFFFFFL;
+                long size = cd.getInt(position + 24) & 0xFFFFFFFFL;
+                int nameLength = cd.getShort(position + 28) & 0xFFFF;
+                int extraLength = cd.getShort(position + 30) & 0xFFFF;
+                int commentLength = cd.getShort(position + 32) & 0xFFFF;
+                int recordSize = CD_HEADER_SIZE + nameLength + extraLength + commentLength;
+                if (position + (long) recordSize > cdSize) {
+                    throw new IOException("Central directory entry " + i + " out of bounds: " + file);
+                }
+                long localHeaderOffset = cd.getInt(position + 42) & 0xFFFFFFFFL;
+                if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                    throw new IOException("ZIP64 entries are not supported: " + file);
+                }
+
+                byte[] nameBytes = new byte[nameLength];
+                cd.position(position + CD_HEADER_SIZE);
+                cd.get(nameBytes);
+                entries.add(new Entry(new String(nameBytes, UTF_8), method, crc, compressedSize, size, localHeaderOffset));
+
+                position += recordSize;
+            }
+
+            return new ApkArchive(in, channel, cdOffset, entries);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    @Nullable
+    public Entry getEntry(String name) {
+        return entriesByName.get(name);
+    }
+
+    /**
+     * Merkezi dizinin dosya içindeki konumu; APK imza bloğu hemen öncesinde yer alır.
+     */
+    public long getCentralDirectoryOffset() {
+        return centralDirectoryOffset;
+    }
+
+    public FileChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Girişin sıkıştırılmış verisinin dosyadaki başlangıç konumunu yerel
+     * başlıktan okur.
+     */
+    public long getDataOffset(Entry entry) throws IOException {
+        if (entry.dataOffset < 0) {
+            ByteBuffer header = readFully(channel, entry.localHeaderOffset, LFH_SIZE);
+            if (header.getInt(0) != LFH_SIGNATURE) {
+                throw new IOException("Bad local header for " + entry.name);
+            }
+            int nameLength = header.getShort(26) & 0xFFFF;
+            int extraLength = header.getShort(28) & 0xFFFF;
+            long dataOffset = entry.localHeaderOffset + LFH_SIZE + nameLength + extraLength;
+            if (dataOffset + entry.compressedSize > centralDirectoryOffset) {
+                throw new IOException("Entry data out of bounds: " + entry.name);
+            }
+            entry.dataOffset = dataOffset;
+        }
+        return entry.dataOffset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, position, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    static void readFully(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                throw new IOException("Unexpected end of archive");
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Merkezi dizindeki bir giriş. Boyut ve CRC değerleri dosya açılmadan bilinir.
+     */
+    public static final class Entry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+        private volatile long dataOffset = -1;
+
+        Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMethod() {
+            return method;
+        }
+
+        public boolean isStored() {
+            return method == METHOD_STORED;
+        }
+
+        public long getCrc() {
+            return crc;
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLocalHeaderOffset() {
+            return localHeaderOffset;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.antivirus_app.scanner.apk;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Arşiv girişlerini tek tek okuyan, tekrar kullanılabilir okuyucu.
+ *
+ * Sıkıştırılmamış (stored) girişler doğrudan belleğe eşlenir ve kopyalanmaz.
+ * Deflate ile sıkıştırılmış girişler tek bir {@link Inflater} ve sabit boyutlu
+ * yığın tamponları ile açılıp yeniden kullanılan bir direct buffer'a yazılır.
+ * Tampon en fazla istenen giriş sınırına kadar büyür ve {@link #trim} ile
+ * başlangıç boyutuna döner; yalnızca özet gereken girişler {@link #sha256}
+ * ile belleğe alınmadan akıtılır. Örnekler thread-safe değildir; her tarama
+ * thread'i kendi okuyucusunu kullanmalıdır.
+ */
+public final class ApkEntryReader {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int INITIAL_OUTPUT_CAPACITY = 1024 * 1024;
+    // Tipik DEX boyutları bunun altındadır; daha büyük tamponlar okumalar arasında tutulmaz
+    private static final int RETAINED_OUTPUT_CAPACITY = 8 * 1024 * 1024;
+
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] input = new byte[CHUNK_SIZE];
+    private final byte[] output = new byte[CHUNK_SIZE];
+    private final ByteBuffer inputBuffer = ByteBuffer.wrap(input);
+    private final MessageDigest sha256;
+    private ByteBuffer inflated = ByteBuffer.allocateDirect(INITIAL_OUTPUT_CAPACITY);
+
+    public ApkEntryReader() {
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Android platformu bu algoritmayı her zaman sağlar
+            throw new IllegalStateException("Required digest algorithm missing", e);
+        }
+    }
+
+    /**
+     * Girişin açılmış içeriğini döner ya da giriş {@code maxSize} baytından
+     * büyükse null döner. Deflate girişleri için dönen tampon bir sonraki
+     * okumaya kadar geçerlidir.
+     */
+    @Nullable
+    public ByteBuffer read(ApkArchive archive, ApkArchive.Entry entry, int maxSize) throws IOException {
+        if (entry.getSize() > maxSize) {
+            return null;
+        }
+        long dataOffset = archive.getDataOffset(entry);
+        FileChannel channel = archive.getChannel();
+
+        if (entry.isStored()) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, entry.getSize());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            return mapped;
+        }
+        if (entry.getMethod() != ApkArchive.METHOD_DEFLATED) {
+            throw new IOException("Unsupported compression method " + entry.getMethod() + " for " + entry.getName());
+        }
+
+        int size = (int) entry.getSize();
+        if (inflated.capacity() < size) {
+            // Büyüme giriş sınırını aşmaz; direct buffer'lar ART'ta Java yığınından sayılır
+            inflated = ByteBuffer.allocateDirect(Math.min(Math.max(size, inflated.capacity() * 2), maxSize));
+        }
+        inflated.clear();
+        inflated.limit(size);
+        inflate(archive, entry, null);
+        if (inflated.hasRemaining()) {
+            throw new IOException("Entry shorter than declared size: " + entry.getName());
+        }
+
+        inflated.flip();
+        ByteBuffer result = inflated.slice();
+        result.order(ByteOrder.LITTLE_ENDIAN);
+        return result;
+    }
+
+    /**
+     * Girişin açılmış içeriğinin SHA-256 özetini belleğe almadan hesaplar;
+     * giriş {@code maxSize} baytından büyükse null döner.
+     */
+    @Nullable
+    public byte[] sha256(ApkArchive archive, ApkArchive.Entry entry, long maxSize) throws IOException {
+        if (entry.getSize() > maxSize) {
+            return null;
+        }
+        sha256.reset();
+        if (entry.isStored()) {
+            FileChannel channel = archive.getChannel();
+            long position = archive.getDataOffset(entry);
+            long end = position + entry.getSize();
+            while (position < end) {
+                int n = (int) Math.min(CHUNK_SIZE, end - position);
+                inputBuffer.clear();
+                inputBuffer.limit(n);
+                ApkArchive.readFully(channel, position, inputBuffer);
+                sha256.update(input, 0, n);
+                position += n;
+            }
+            return sha256.digest();
+        }
+        if (entry.getMethod() != ApkArchive.METHOD_DEFLATED) {
+            throw new IOException("Unsupported compression method " + entry.getMethod() + " for " + entry.getName());
+        }
+        long produced = inflate(archive, entry, sha256);
+        if (produced != entry.getSize()) {
+            throw new IOException("Entry shorter than declared size: " + entry.getName());
+        }
+        return sha256.digest();
+    }
+
+    /**
+     * Büyük bir okumadan sonra açma tamponunu başlangıç boyutuna indirir.
+     * Son okumanın döndürdüğü tampon geçersiz olur.
+     */
+    public void trim() {
+        if (inflated.capacity() > RETAINED_OUTPUT_CAPACITY) {
+            inflated = ByteBuffer.allocateDirect(INITIAL_OUTPUT_CAPACITY);
+        }
+    }
+
+    /**
+     * Deflate akışını açar; çıktı {@code digest} verilmişse ona, verilmemişse
+     * sınırı ayarlanmış {@link #inflated} tamponuna yazılır. Üretilen bayt
+     * sayısını döner.
+     */
+    private long inflate(ApkArchive archive, ApkArchive.Entry entry, @Nullable MessageDigest digest)
+            throws IOException {
+        FileChannel channel = archive.getChannel();
+        inflater.reset();
+        long position = archive.getDataOffset(entry);
+        long remaining = entry.getCompressedSize();
+        long total = 0;
+        try {
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (remaining <= 0) {
+                        throw new IOException("Truncated deflate stream for " + entry.getName());
+                    }
+                    int n = (int) Math.min(CHUNK_SIZE, remaining);
+                    inputBuffer.clear();
+                    inputBuffer.limit(n);
+                    ApkArchive.readFully(channel, position, inputBuffer);
+                    position += n;
+                    remaining -= n;
+                    inflater.setInput(input, 0, n);
+                }
+                long room = digest != null ? entry.getSize() - total : inflated.remaining();
+                int produced = inflater.inflate(output, 0, (int) Math.min(output.length, room + 1));
+                if (produced > room) {
+                    throw new IOException("Entry larger than declared size: " + entry.getName());
+                }
+                if (digest != null) {
+                    digest.update(output, 0, produced);
+                } else {
+                    inflated.put(output, 0, produced);
+                }
+                total += produced;
+                if (produced == 0 && inflater.needsDictionary()) {
+                    throw new IOException("Deflate dictionary not supported: " + entry.getName());
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt deflate stream for " + entry.getName(), e);
+        }
+        return total;
+    }
+
+    /**
+     * Yerel Inflater kaynaklarını serbest bırakır.
+     */
+    public void release() {
+        inflater.end();
+    }
+}
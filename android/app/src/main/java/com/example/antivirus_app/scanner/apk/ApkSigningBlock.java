@@ -0,0 +1,146 @@
+package com.example.antivirus_app.scanner.apk;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * APK Signature Scheme v2/v3 imza bloğundan imzalayan sertifikalarını çıkarır.
+ *
+ * Blok, merkezi dizinin hemen önünde yer alır:
+ *
+ * <pre>
+ * uint64 blockSize
+ * { uint64 length, uint32 id, byte[length - 4] value }*
+ * uint64 blockSize
+ * byte[16] "APK Sig Block 42"
+ * </pre>
+ *
+ * İmzalar doğrulanmaz (kurulumda platform tarafından doğrulanmıştır); yalnızca
+ * her imzalayanın sertifikasının DER baytlarının SHA-256 özeti hesaplanır.
+ * Sertifikalar ayrıştırılmaz, özet doğrudan blok tamponu üzerinden alınır.
+ */
+public final class ApkSigningBlock {
+    private static final int V2_BLOCK_ID = 0x7109871a;
+    private static final int V3_BLOCK_ID = 0xf05368c0;
+    private static final long MAGIC_LO = 0x20676953204b5041L; // "APK Sig "
+    private static final long MAGIC_HI = 0x3234206b636f6c42L; // "Block 42"
+    private static final int FOOTER_SIZE = 24;
+    private static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private ApkSigningBlock() {
+    }
+
+    /**
+     * İmzalayan sertifikalarının SHA-256 özetlerini döner. APK yalnızca v1 (JAR)
+     * imzalıysa boş liste döner.
+     */
+    public static List<byte[]> readSignerCertificateDigests(ApkArchive archive) throws IOException {
+        List<byte[]> digests = new ArrayList<>();
+        ByteBuffer block = findBlock(archive);
+        if (block == null) {
+            return digests;
+        }
+
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 missing", e);
+        }
+
+        try {
+            while (block.remaining() >= 12) {
+                long length = block.getLong();
+                if (length < 4 || length > block.remaining()) {
+                    throw new IOException("Corrupt APK signing block pair");
+                }
+                int id = block.getInt();
+                int valueLength = (int) length - 4;
+                if (id == V2_BLOCK_ID || id == V3_BLOCK_ID) {
+                    collectSignerCertificates(slice(block, valueLength), sha256, digests);
+                } else {
+                    block.position(block.position() + valueLength);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt APK signing block", e);
+        }
+        return digests;
+    }
+
+    private static ByteBuffer findBlock(ApkArchive archive) throws IOException {
+        long cdOffset = archive.getCentralDirectoryOffset();
+        if (cdOffset < FOOTER_SIZE) {
+            return null;
+        }
+        ByteBuffer footer = ApkArchive.readFully(archive.getChannel(), cdOffset - FOOTER_SIZE, FOOTER_SIZE);
+        if (footer.getLong(8) != MAGIC_LO || footer.getLong(16) != MAGIC_HI) {
+            return null;
+        }
+        long blockSize = footer.getLong(0);
+        if (blockSize < FOOTER_SIZE || blockSize > MAX_BLOCK_SIZE || blockSize + 8 > cdOffset) {
+            throw new IOException("Invalid APK signing block size: " + blockSize);
+        }
+
+        long blockStart = cdOffset - blockSize - 8;
+        ByteBuffer block = ApkArchive.readFully(archive.getChannel(), blockStart, (int) (blockSize + 8));
+        if (block.getLong(0) != blockSize) {
+            throw new IOException("APK signing block size mismatch");
+        }
+        // Baştaki boyut alanını ve sondaki altbilgiyi at; yalnızca kimlik-değer çiftleri kalsın
+        block.position(8);
+        block.limit((int) (blockSize + 8 - FOOTER_SIZE));
+        return block.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void collectSignerCertificates(ByteBuffer schemeBlock, MessageDigest sha256, List<byte[]> digests) {
+        ByteBuffer signers = lengthPrefixed(schemeBlock);
+        while (signers.hasRemaining()) {
+            ByteBuffer signer = lengthPrefixed(signers);
+            ByteBuffer signedData = lengthPrefixed(signer);
+            lengthPrefixed(signedData); // digests
+            ByteBuffer certificates = lengthPrefixed(signedData);
+            if (!certificates.hasRemaining()) {
+                continue;
+            }
+            // Listedeki ilk sertifika imzalayanın kendi sertifikasıdır
+            ByteBuffer certificate = lengthPrefixed(certificates);
+            sha256.reset();
+            sha256.update(certificate);
+            byte[] digest = sha256.digest();
+            if (!containsDigest(digests, digest)) {
+                digests.add(digest);
+            }
+        }
+    }
+
+    private static boolean containsDigest(List<byte[]> digests, byte[] digest) {
+        for (byte[] existing : digests) {
+            if (MessageDigest.isEqual(existing, digest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer lengthPrefixed(ByteBuffer source) {
+        int length = source.getInt();
+        if (length < 0 || length > source.remaining()) {
+            throw new IllegalArgumentException("Length-prefixed field out of bounds");
+        }
+        return slice(source, length);
+    }
+
+    private static ByteBuffer slice(ByteBuffer source, int length) {
+        ByteBuffer result = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+        result.limit(length);
+        source.position(source.position() + length);
+        return result;
+    }
+}
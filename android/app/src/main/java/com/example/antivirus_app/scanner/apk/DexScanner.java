@@ -0,0 +1,352 @@
+package com.example.antivirus_app.scanner.apk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DEX dosyasının başlık, string, tip ve metot kimliği tablolarını doğrudan bir
+ * {@link ByteBuffer} üzerinde okuyup şüpheli API referanslarını bulan tarayıcı.
+ *
+ * DEX biçiminde string havuzu içeriğe göre, tip kimlikleri string indeksine,
+ * metot kimlikleri ise (sınıf, ad, prototip) sırasına göre sıralıdır. Bu yüzden
+ * her hedef sınıf ve metot adı ikili arama ile bulunur; havuzdaki stringlerin
+ * yalnızca logaritmik bir kısmına dokunulur ve hiçbiri {@code String}'e
+ * dönüştürülmez. Yığın kullanımı DEX boyutundan bağımsızdır. Örnekler
+ * thread-safe değildir.
+ *
+ * Uygulamalar AccessibilityService metotlarını kendi alt sınıfları üzerinden
+ * çağırır ve derlenen metot referansı alt sınıfı gösterir. Bu kurallar için
+ * aynı DEX'in class_defs tablosundan hedef sınıftan (dolaylı olarak) türeyen
+ * sınıflar çözülür ve referanslar bu sınıflarda da aranır.
+ */
+public final class DexScanner {
+    /** SmsManager üzerinden SMS gönderimi. */
+    public static final int SMS_SEND = 1;
+    /** Erişilebilirlik servisi ile genel eylem veya hareket tetikleme. */
+    public static final int ACCESSIBILITY = 1 << 1;
+    /** Çalışma anında harici DEX yükleme. */
+    public static final int DEX_CLASS_LOADER = 1 << 2;
+    /** Class.forName → getMethod → invoke yansıma zinciri. */
+    public static final int REFLECTION = 1 << 3;
+
+    // Yansıma zincirinin halkaları; üçü birden bulunduğunda REFLECTION bildirilir
+    private static final int REFLECT_FOR_NAME = 1 << 16;
+    private static final int REFLECT_LOOKUP = 1 << 17;
+    private static final int REFLECT_INVOKE = 1 << 18;
+    private static final int REFLECTION_CHAIN = REFLECT_FOR_NAME | REFLECT_LOOKUP | REFLECT_INVOKE;
+
+    private static final int HEADER_SIZE = 0x70;
+    private static final int STRING_ID_SIZE = 4;
+    private static final int TYPE_ID_SIZE = 4;
+    private static final int METHOD_ID_SIZE = 8;
+    private static final int CLASS_DEF_SIZE = 32;
+    // Ara sınıf zincirinin izlenecek en büyük derinliği
+    private static final int MAX_SUBCLASS_DEPTH = 8;
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    private static final Rule[] RULES = {
+        new Rule("Landroid/telephony/SmsManager;", "sendTextMessage", SMS_SEND),
+        new Rule("Landroid/telephony/SmsManager;", "sendMultipartTextMessage", SMS_SEND),
+        new Rule("Landroid/telephony/SmsManager;", "sendDataMessage", SMS_SEND),
+        new Rule("Landroid/accessibilityservice/AccessibilityService;", "performGlobalAction", ACCESSIBILITY, true),
+        new Rule("Landroid/accessibilityservice/AccessibilityService;", "dispatchGesture", ACCESSIBILITY, true),
+        new Rule("Landroid/view/accessibility/AccessibilityNodeInfo;", "performAction", ACCESSIBILITY),
+        new Rule("Ldalvik/system/DexClassLoader;", "<init>", DEX_CLASS_LOADER),
+        new Rule("Ldalvik/system/InMemoryDexClassLoader;", "<init>", DEX_CLASS_LOADER),
+        new Rule("Ljava/lang/Class;", "forName", REFLECT_FOR_NAME),
+        new Rule("Ljava/lang/Class;", "getMethod", REFLECT_LOOKUP),
+        new Rule("Ljava/lang/Class;", "getDeclaredMethod", REFLECT_LOOKUP),
+        new Rule("Ljava/lang/reflect/Method;", "invoke", REFLECT_INVOKE),
+    };
+
+    // Önceden derlenmiş eşleyici: kuralların andığı tekil sınıf tanımlayıcıları ve metot adları
+    private static final byte[][] TARGETS;
+
+    static {
+        List<String> unique = new ArrayList<>();
+        for (Rule rule : RULES) {
+            rule.classTarget = intern(unique, rule.classDescriptor);
+            rule.nameTarget = intern(unique, rule.methodName);
+        }
+        TARGETS = new byte[unique.size()][];
+        for (int i = 0; i < TARGETS.length; i++) {
+            TARGETS[i] = unique.get(i).getBytes(US_ASCII);
+        }
+    }
+
+    // Tarama başına yeniden kullanılan çözümleme tabloları
+    private final int[] stringIndex = new int[TARGETS.length];
+    private final int[] typeIndex = new int[TARGETS.length];
+    private int[] subclasses = new int[16];
+    private int subclassCount;
+    private int subclassesOf;
+
+    private ByteBuffer dex;
+    private int limit;
+    private int stringIdsSize;
+    private int stringIdsOff;
+    private int typeIdsSize;
+    private int typeIdsOff;
+    private int methodIdsSize;
+    private int methodIdsOff;
+    private int classDefsSize;
+    private int classDefsOff;
+
+    /**
+     * DEX içeriğini tarar ve bulunan şüpheli API referanslarının bayraklarını döner.
+     */
+    public int scan(ByteBuffer buffer) throws IOException {
+        dex = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            readHeader();
+            subclassesOf = -1;
+            for (int i = 0; i < TARGETS.length; i++) {
+                stringIndex[i] = findString(TARGETS[i]);
+                typeIndex[i] = stringIndex[i] < 0 ? -1 : findType(stringIndex[i]);
+            }
+
+            int references = 0;
+            for (Rule rule : RULES) {
+                if ((references & rule.flag) != 0) {
+                    continue;
+                }
+                int classIdx = typeIndex[rule.classTarget];
+                int nameIdx = stringIndex[rule.nameTarget];
+                if (classIdx < 0 || nameIdx < 0) {
+                    continue;
+                }
+                if (hasMethod(classIdx, nameIdx)
+                        || (rule.includeSubclasses && hasMethodInSubclass(classIdx, nameIdx))) {
+                    references |= rule.flag;
+                }
+            }
+
+            int flags = references & ~REFLECTION_CHAIN;
+            if ((references & REFLECTION_CHAIN) == REFLECTION_CHAIN) {
+                flags |= REFLECTION;
+            }
+            return flags;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt DEX file", e);
+        } finally {
+            dex = null;
+        }
+    }
+
+    /**
+     * Bayrakları rapor için okunur adlara çevirir.
+     */
+    public static String describe(int flags) {
+        StringBuilder sb = new StringBuilder();
+        appendFlag(sb, flags, SMS_SEND, "SMS sending");
+        appendFlag(sb, flags, ACCESSIBILITY, "accessibility actions");
+        appendFlag(sb, flags, DEX_CLASS_LOADER, "dynamic code loading");
+        appendFlag(sb, flags, REFLECTION, "reflection chain");
+        return sb.toString();
+    }
+
+    private void readHeader() throws IOException {
+        limit = dex.limit();
+        if (limit < HEADER_SIZE
+                || dex.get(0) != 'd' || dex.get(1) != 'e' || dex.get(2) != 'x' || dex.get(3) != '\n'
+                || dex.get(7) != 0) {
+            throw new IOException("Not a DEX file");
+        }
+        if (dex.getInt(0x24) != HEADER_SIZE) {
+            throw new IOException("Unexpected DEX header size");
+        }
+        stringIdsSize = dex.getInt(0x38);
+        stringIdsOff = dex.getInt(0x3C);
+        typeIdsSize = dex.getInt(0x40);
+        typeIdsOff = dex.getInt(0x44);
+        methodIdsSize = dex.getInt(0x58);
+        methodIdsOff = dex.getInt(0x5C);
+        classDefsSize = dex.getInt(0x60);
+        classDefsOff = dex.getInt(0x64);
+        checkTable(stringIdsOff, stringIdsSize, STRING_ID_SIZE);
+        checkTable(typeIdsOff, typeIdsSize, TYPE_ID_SIZE);
+        checkTable(methodIdsOff, methodIdsSize, METHOD_ID_SIZE);
+        checkTable(classDefsOff, classDefsSize, CLASS_DEF_SIZE);
+    }
+
+    private void checkTable(int offset, int size, int itemSize) throws IOException {
+        if (size < 0 || offset < 0 || (size > 0 && (long) offset + (long) size * itemSize > limit)) {
+            throw new IOException("DEX table out of bounds");
+        }
+    }
+
+    /**
+     * String havuzunda ikili arama yapar. Hedefler ASCII olduğundan MUTF-8 bayt
+     * karşılaştırması DEX'in UTF-16 sıralamasıyla tutarlıdır.
+     */
+    private int findString(byte[] target) {
+        int low = 0;
+        int high = stringIdsSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareString(dex.getInt(stringIdsOff + mid * STRING_ID_SIZE), target);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareString(int dataOff, byte[] target) {
+        int p = dataOff;
+        // uleb128 utf16_size alanını atla
+        while ((dex.get(p++) & 0x80) != 0) {
+            // devam baytı
+        }
+        for (byte t : target) {
+            int b = dex.get(p++) & 0xFF;
+            if (b != (t & 0xFF)) {
+                // Sonlandırıcı (0) hedeften kısa string demektir ve daima küçüktür
+                return b < (t & 0xFF) ? -1 : 1;
+            }
+        }
+        return dex.get(p) == 0 ? 0 : 1;
+    }
+
+    private int findType(int stringIdx) {
+        int low = 0;
+        int high = typeIdsSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int descriptor = dex.getInt(typeIdsOff + mid * TYPE_ID_SIZE);
+            if (descriptor < stringIdx) {
+                low = mid + 1;
+            } else if (descriptor > stringIdx) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Metot kimlikleri (sınıf, ad) anahtarına göre sıralı olduğundan prototip
+     * yok sayılarak ikili arama yapılır.
+     */
+    private boolean hasMethod(int classIdx, int nameIdx) {
+        int low = 0;
+        int high = methodIdsSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int item = methodIdsOff + mid * METHOD_ID_SIZE;
+            int cmp = Integer.compare(dex.getShort(item) & 0xFFFF, classIdx);
+            if (cmp == 0) {
+                cmp = Integer.compare(dex.getInt(item + 4), nameIdx);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasMethodInSubclass(int superclassIdx, int nameIdx) {
+        if (subclassesOf != superclassIdx) {
+            findSubclasses(superclassIdx);
+        }
+        for (int i = 0; i < subclassCount; i++) {
+            if (hasMethod(subclasses[i], nameIdx)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * class_defs tablosundan {@code superclassIdx}'ten türeyen sınıfları toplar.
+     * Üst sınıf tanımı alt sınıftan sonra gelebileceğinden tablo, yeni sınıf
+     * bulunmayana kadar en fazla {@link #MAX_SUBCLASS_DEPTH} kez taranır.
+     */
+    private void findSubclasses(int superclassIdx) {
+        subclassesOf = superclassIdx;
+        subclassCount = 0;
+        for (int pass = 0; pass < MAX_SUBCLASS_DEPTH; pass++) {
+            boolean added = false;
+            for (int i = 0; i < classDefsSize; i++) {
+                int item = classDefsOff + i * CLASS_DEF_SIZE;
+                int superclass = dex.getInt(item + 8);
+                if (superclass != superclassIdx && !isSubclass(superclass)) {
+                    continue;
+                }
+                int classIdx = dex.getInt(item);
+                if (!isSubclass(classIdx)) {
+                    if (subclassCount == subclasses.length) {
+                        subclasses = Arrays.copyOf(subclasses, subclassCount * 2);
+                    }
+                    subclasses[subclassCount++] = classIdx;
+                    added = true;
+                }
+            }
+            if (!added) {
+                return;
+            }
+        }
+    }
+
+    private boolean isSubclass(int classIdx) {
+        for (int i = 0; i < subclassCount; i++) {
+            if (subclasses[i] == classIdx) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendFlag(StringBuilder sb, int flags, int flag, String name) {
+        if ((flags & flag) != 0) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(name);
+        }
+    }
+
+    private static int intern(List<String> values, String value) {
+        int index = values.indexOf(value);
+        if (index < 0) {
+            index = values.size();
+            values.add(value);
+        }
+        return index;
+    }
+
+    private static final class Rule {
+        final String classDescriptor;
+        final String methodName;
+        final int flag;
+        // Referanslar hedef sınıftan türeyen uygulama sınıflarında da aranır
+        final boolean includeSubclasses;
+        int classTarget;
+        int nameTarget;
+
+        Rule(String classDescriptor, String methodName, int flag) {
+            this(classDescriptor, methodName, flag, false);
+        }
+
+        Rule(String classDescriptor, String methodName, int flag, boolean includeSubclasses) {
+            this.classDescriptor = classDescriptor;
+            this.methodName = methodName;
+            this.flag = flag;
+            this.includeSubclasses = includeSubclasses;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.antivirus_app.scanner.apk;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * APK içindeki yerel kütüphaneleri (ELF paylaşımlı nesneleri) açmadan
+ * inceleyen ayrıştırıcı.
+ *
+ * Sıkıştırılmamış girişler arşiv dosyasından konumlu okumalarla okunur;
+ * yalnızca ELF başlığı, bölüm/program başlıkları ve dinamik sembol tabloları
+ * belleğe alınır. Dinamik sembol tablosu bölüm başlıklarından, bölüm
+ * başlıkları silinmişse (paketleyicilerde yaygın) PT_DYNAMIC segmentinden
+ * bulunur. AArch64 çalıştırılabilir bölgelerinde libc'yi atlayan satır içi
+ * SVC komutları aranır; Go ve Rust çalışma zamanları da bunları içerdiğinden
+ * doğrudan sistem çağrısı yalnızca ptrace ya da dlopen zinciriyle birlikte
+ * bildirilir. İçeriğin SHA-256 özeti ayrı bir geçişte
+ * {@link ApkEntryReader#sha256} ile hesaplanır; özet, sonuç önbelleğinin
+ * anahtarıdır. Örnekler thread-safe değildir.
+ */
+public final class ElfInspector {
+    /** ptrace içe aktarımı: hata ayıklayıcı engelleme veya süreç enjeksiyonu. */
+    public static final int PTRACE = 1;
+    /** dlopen ve dlsym birlikte: çalışma anında kod yükleyip sembol çözme zinciri. */
+    public static final int DLOPEN_CHAIN = 1 << 1;
+    /** syscall() içe aktarımı ya da satır içi SVC komutları; yalnızca diğer göstergelerle birlikte. */
+    public static final int RAW_SYSCALL = 1 << 2;
+    /** Bölüm başlıkları silinmiş ya da geçersiz. */
+    public static final int STRIPPED_SECTIONS = 1 << 3;
+
+    // Zincirin halkaları; ikisi birden bulunduğunda DLOPEN_CHAIN bildirilir
+    private static final int IMPORT_DLOPEN = 1 << 16;
+    private static final int IMPORT_DLSYM = 1 << 17;
+    private static final int DLOPEN_LINKS = IMPORT_DLOPEN | IMPORT_DLSYM;
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final byte[][] IMPORT_NAMES = {
+        "ptrace".getBytes(US_ASCII),
+        "dlopen".getBytes(US_ASCII),
+        "android_dlopen_ext".getBytes(US_ASCII),
+        "dlsym".getBytes(US_ASCII),
+        "syscall".getBytes(US_ASCII),
+    };
+    private static final int[] IMPORT_FLAGS = {PTRACE, IMPORT_DLOPEN, IMPORT_DLOPEN, IMPORT_DLSYM, RAW_SYSCALL};
+
+    private static final int EM_AARCH64 = 183;
+    private static final int SHT_DYNSYM = 11;
+    private static final int SHF_EXECINSTR = 0x4;
+    private static final int PT_LOAD = 1;
+    private static final int PT_DYNAMIC = 2;
+    private static final int PF_X = 0x1;
+    private static final long DT_NULL = 0;
+    private static final long DT_HASH = 4;
+    private static final long DT_STRTAB = 5;
+    private static final long DT_SYMTAB = 6;
+    private static final long DT_STRSZ = 10;
+    private static final long DT_GNU_HASH = 0x6ffffef5L;
+
+    // Tek seferde belleğe alınacak en büyük tablo; gerçek kütüphanelerde birkaç yüz KB'dir
+    private static final int MAX_TABLE_SIZE = 8 * 1024 * 1024;
+    private static final int MAX_HEADERS = 4096;
+    private static final int MAX_EXEC_RANGES = 64;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    private final long[] execStart = new long[MAX_EXEC_RANGES];
+    private final long[] execEnd = new long[MAX_EXEC_RANGES];
+    private int execCount;
+
+    // İncelenen kütüphane: arşiv kanalındaki sıkıştırılmamış bir bölge
+    @Nullable
+    private FileChannel channel;
+    private long base;
+    private long size;
+    private ByteOrder order;
+    private boolean is64;
+    private int machine;
+
+    /**
+     * Arşivdeki sıkıştırılmamış bir girişi konumlu okumalarla inceler ve
+     * bayraklarını döner.
+     */
+    public int inspect(FileChannel archiveChannel, long offset, long length) throws IOException {
+        channel = archiveChannel;
+        base = offset;
+        size = length;
+        order = ByteOrder.LITTLE_ENDIAN;
+        try {
+            return inspect();
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Bayrakları rapor için okunur adlara çevirir.
+     */
+    public static String describe(int flags) {
+        StringBuilder sb = new StringBuilder();
+        appendFlag(sb, flags, PTRACE, "ptrace");
+        appendFlag(sb, flags, DLOPEN_CHAIN, "dlopen/dlsym chain");
+        appendFlag(sb, flags, RAW_SYSCALL, "raw syscalls");
+        appendFlag(sb, flags, STRIPPED_SECTIONS, "stripped section headers");
+        return sb.toString();
+    }
+
+    private int inspect() throws IOException {
+        execCount = 0;
+        int imports;
+        try {
+            imports = parse();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt ELF file", e);
+        }
+        int flags = imports & ~DLOPEN_LINKS;
+        if ((imports & DLOPEN_LINKS) == DLOPEN_LINKS) {
+            flags |= DLOPEN_CHAIN;
+        }
+        if ((flags & (PTRACE | DLOPEN_CHAIN)) == 0) {
+            // Tek başına doğrudan sistem çağrısı sıradan kütüphanelerde de bulunur
+            return flags & ~RAW_SYSCALL;
+        }
+        if ((flags & RAW_SYSCALL) == 0) {
+            flags |= scanText();
+        }
+        return flags;
+    }
+
+    /**
+     * Başlıkları ve dinamik sembolleri okur; içe aktarım bayraklarını döner.
+     */
+    private int parse() throws IOException {
+        ByteBuffer header = read(0, (int) Math.min(64, size), ByteOrder.LITTLE_ENDIAN);
+        if (header.limit() < 52 || header.get(0) != 0x7F || header.get(1) != 'E'
+                || header.get(2) != 'L' || header.get(3) != 'F') {
+            throw new IOException("Not an ELF file");
+        }
+        int elfClass = header.get(4);
+        int data = header.get(5);
+        if ((elfClass != 1 && elfClass != 2) || (data != 1 && data != 2)) {
+            throw new IOException("Unsupported ELF class/encoding");
+        }
+        is64 = elfClass == 2;
+        order = data == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        header.order(order);
+        if (is64 && header.limit() < 64) {
+            throw new IOException("Truncated ELF header");
+        }
+        machine = header.getShort(18) & 0xFFFF;
+
+        long phOff = is64 ? header.getLong(32) : header.getInt(28) & 0xFFFFFFFFL;
+        long shOff = is64 ? header.getLong(40) : header.getInt(32) & 0xFFFFFFFFL;
+        int phEntSize = header.getShort(is64 ? 54 : 42) & 0xFFFF;
+        int phNum = header.getShort(is64 ? 56 : 44) & 0xFFFF;
+        int shEntSize = header.getShort(is64 ? 58 : 46) & 0xFFFF;
+        int shNum = header.getShort(is64 ? 60 : 48) & 0xFFFF;
+
+        int imports = shNum > 0 ? importsFromSections(shOff, shEntSize, shNum) : -1;
+        if (imports < 0) {
+            execCount = 0;
+            imports = STRIPPED_SECTIONS | importsFromDynamicSegment(phOff, phEntSize, phNum);
+        }
+        return imports;
+    }
+
+    /**
+     * Bölüm başlıklarından .dynsym/.dynstr ve çalıştırılabilir bölümleri bulur;
+     * bölüm tablosu kullanılamazsa -1 döner.
+     */
+    private int importsFromSections(long shOff, int entSize, int count) throws IOException {
+        int minSize = is64 ? 64 : 40;
+        if (entSize < minSize || count > MAX_HEADERS || shOff <= 0 || shOff + (long) entSize * count > size) {
+            return -1;
+        }
+        ByteBuffer sections = read(shOff, entSize * count, order);
+        int dynsym = -1;
+        for (int i = 0; i < count; i++) {
+            int p = i * entSize;
+            int type = sections.getInt(p + 4);
+            long flags = is64 ? sections.getLong(p + 8) : sections.getInt(p + 8) & 0xFFFFFFFFL;
+            if (type == SHT_DYNSYM && dynsym < 0) {
+                dynsym = i;
+            }
+            if ((flags & SHF_EXECINSTR) != 0) {
+                addExecRange(sectionOffset(sections, p), sectionSize(sections, p));
+            }
+        }
+        if (dynsym < 0) {
+            // Statik bağlanmış; içe aktarım yok
+            return 0;
+        }
+
+        int p = dynsym * entSize;
+        int link = sections.getInt(p + (is64 ? 40 : 24));
+        if (link <= 0 || link >= count) {
+            return -1;
+        }
+        int q = link * entSize;
+        long symSize = sectionSize(sections, p);
+        long strSize = sectionSize(sections, q);
+        return scanSymbols(sectionOffset(sections, p), symSize / (is64 ? 24 : 16),
+            sectionOffset(sections, q), strSize);
+    }
+
+    /**
+     * Bölüm başlıkları olmadan DT_SYMTAB/DT_STRTAB ve sembol sayısını dinamik
+     * segmentten çözer.
+     */
+    private int importsFromDynamicSegment(long phOff, int entSize, int count) throws IOException {
+        int minSize = is64 ? 56 : 32;
+        if (entSize < minSize || count > MAX_HEADERS || phOff <= 0 || phOff + (long) entSize * count > size) {
+            throw new IOException("No usable program headers");
+        }
+        ByteBuffer programs = read(phOff, entSize * count, order);
+        long dynamicOffset = -1;
+        long dynamicSize = 0;
+        for (int i = 0; i < count; i++) {
+            int p = i * entSize;
+            int type = programs.getInt(p);
+            long offset = is64 ? programs.getLong(p + 8) : programs.getInt(p + 4) & 0xFFFFFFFFL;
+            long fileSize = is64 ? programs.getLong(p + 32) : programs.getInt(p + 16) & 0xFFFFFFFFL;
+            int flags = programs.getInt(p + (is64 ? 4 : 24));
+            if (type == PT_DYNAMIC) {
+                dynamicOffset = offset;
+                dynamicSize = fileSize;
+            } else if (type == PT_LOAD && (flags & PF_X) != 0) {
+                addExecRange(offset, fileSize);
+            }
+        }
+        if (dynamicOffset < 0) {
+            // Statik bağlanmış; içe aktarım yok
+            return 0;
+        }
+
+        int entry = is64 ? 16 : 8;
+        ByteBuffer dynamic = read(dynamicOffset, (int) Math.min(dynamicSize, MAX_TABLE_SIZE), order);
+        long symtab = -1;
+        long strtab = -1;
+        long strSize = 0;
+        long hash = -1;
+        long gnuHash = -1;
+        for (int p = 0; p + entry <= dynamic.limit(); p += entry) {
+            long tag = is64 ? dynamic.getLong(p) : dynamic.getInt(p);
+            long value = is64 ? dynamic.getLong(p + 8) : dynamic.getInt(p + 4) & 0xFFFFFFFFL;
+            if (tag == DT_NULL) {
+                break;
+            } else if (tag == DT_SYMTAB) {
+                symtab = value;
+            } else if (tag == DT_STRTAB) {
+                strtab = value;
+            } else if (tag == DT_STRSZ) {
+                strSize = value;
+            } else if (tag == DT_HASH) {
+                hash = value;
+            } else if (tag == DT_GNU_HASH) {
+                gnuHash = value;
+            }
+        }
+        if (symtab < 0 || strtab < 0) {
+            return 0;
+        }
+
+        long symOffset = toFileOffset(programs, entSize, count, symtab);
+        long strOffset = toFileOffset(programs, entSize, count, strtab);
+        long symbolCount;
+        if (hash >= 0) {
+            ByteBuffer header = read(toFileOffset(programs, entSize, count, hash), 8, order);
+            symbolCount = header.getInt(4) & 0xFFFFFFFFL;
+        } else if (gnuHash >= 0) {
+            symbolCount = gnuHashSymbolCount(toFileOffset(programs, entSize, count, gnuHash));
+        } else {
+            return 0;
+        }
+        return scanSymbols(symOffset, symbolCount, strOffset, strSize);
+    }
+
+    /**
+     * DT_GNU_HASH tablosunda en büyük kova değerinden zincir sonuna yürüyerek
+     * sembol sayısını bulur.
+     */
+    private long gnuHashSymbolCount(long offset) throws IOException {
+        ByteBuffer header = read(offset, 16, order);
+        long bucketCount = header.getInt(0) & 0xFFFFFFFFL;
+        long symOffset = header.getInt(4) & 0xFFFFFFFFL;
+        long bloomSize = header.getInt(8) & 0xFFFFFFFFL;
+        long bucketsOffset = offset + 16 + bloomSize * (is64 ? 8 : 4);
+        if (bucketCount * 4 > MAX_TABLE_SIZE) {
+            throw new IOException("GNU hash table too large");
+        }
+        ByteBuffer buckets = read(bucketsOffset, (int) (bucketCount * 4), order);
+        long last = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            last = Math.max(last, buckets.getInt(i * 4) & 0xFFFFFFFFL);
+        }
+        if (last < symOffset) {
+            return symOffset;
+        }
+        long chainOffset = bucketsOffset + bucketCount * 4 + (last - symOffset) * 4;
+        while (chainOffset + 4 <= size) {
+            ByteBuffer value = read(chainOffset, 4, order);
+            if ((value.getInt(0) & 1) != 0) {
+                break;
+            }
+            last++;
+            chainOffset += 4;
+        }
+        return last + 1;
+    }
+
+    private long toFileOffset(ByteBuffer programs, int entSize, int count, long address) throws IOException {
+        for (int i = 0; i < count; i++) {
+            int p = i * entSize;
+            if (programs.getInt(p) != PT_LOAD) {
+                continue;
+            }
+            long offset = is64 ? programs.getLong(p + 8) : programs.getInt(p + 4) & 0xFFFFFFFFL;
+            long vaddr = is64 ? programs.getLong(p + 16) : programs.getInt(p + 8) & 0xFFFFFFFFL;
+            long fileSize = is64 ? programs.getLong(p + 32) : programs.getInt(p + 16) & 0xFFFFFFFFL;
+            if (address >= vaddr && address < vaddr + fileSize) {
+                return offset + (address - vaddr);
+            }
+        }
+        throw new IOException("Address 0x" + Long.toHexString(address) + " not in a loaded segment");
+    }
+
+    /**
+     * Tanımsız (içe aktarılan) dinamik sembolleri bilinen adlarla karşılaştırır.
+     */
+    private int scanSymbols(long symOffset, long symbolCount, long strOffset, long strSize) throws IOException {
+        int symSize = is64 ? 24 : 16;
+        if (symbolCount * symSize > MAX_TABLE_SIZE || strSize > MAX_TABLE_SIZE) {
+            throw new IOException("Dynamic symbol table too large");
+        }
+        ByteBuffer symbols = read(symOffset, (int) symbolCount * symSize, order);
+        ByteBuffer strings = read(strOffset, (int) strSize, order);
+
+        int flags = 0;
+        for (int i = 0; i < symbolCount; i++) {
+            int p = i * symSize;
+            int name = symbols.getInt(p);
+            int sectionIndex = symbols.getShort(p + (is64 ? 6 : 14)) & 0xFFFF;
+            if (name <= 0 || sectionIndex != 0 || name >= strSize) {
+                continue;
+            }
+            for (int n = 0; n < IMPORT_NAMES.length; n++) {
+                if ((flags & IMPORT_FLAGS[n]) == 0 && nameEquals(strings, name, IMPORT_NAMES[n])) {
+                    flags |= IMPORT_FLAGS[n];
+                }
+            }
+        }
+        return flags;
+    }
+
+    private static boolean nameEquals(ByteBuffer strings, int offset, byte[] name) {
+        if (offset + name.length >= strings.limit()) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (strings.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return strings.get(offset + name.length) == 0;
+    }
+
+    private long sectionOffset(ByteBuffer sections, int p) {
+        return is64 ? sections.getLong(p + 24) : sections.getInt(p + 16) & 0xFFFFFFFFL;
+    }
+
+    private long sectionSize(ByteBuffer sections, int p) {
+        return is64 ? sections.getLong(p + 32) : sections.getInt(p + 20) & 0xFFFFFFFFL;
+    }
+
+    private void addExecRange(long offset, long length) {
+        if (execCount < MAX_EXEC_RANGES && offset >= 0 && length > 0 && offset < size) {
+            // Komutlar 4 bayt hizalıdır
+            execStart[execCount] = (offset + 3) & ~3L;
+            execEnd[execCount] = Math.min(size, offset + length);
+            execCount++;
+        }
+    }
+
+    /**
+     * AArch64 çalıştırılabilir bölgelerini parça parça okuyup satır içi SVC
+     * komutlarını arar. 32 bit ARM kodu çoğunlukla Thumb-2'dir ve kelime
+     * hizalı bir eşleşme NEON komutlarını da yakalar; bu yüzden taranmaz.
+     */
+    private int scanText() throws IOException {
+        if (machine != EM_AARCH64) {
+            return 0;
+        }
+        for (int r = 0; r < execCount; r++) {
+            for (long position = execStart[r]; position < execEnd[r]; position += CHUNK_SIZE) {
+                int length = (int) Math.min(CHUNK_SIZE, execEnd[r] - position);
+                if (containsSvc(readChunk(position, length), position)) {
+                    return RAW_SYSCALL;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private boolean containsSvc(ByteBuffer data, long position) {
+        int start = data.position();
+        long end = position + data.remaining();
+        for (int r = 0; r < execCount; r++) {
+            long from = Math.max(execStart[r], position);
+            long to = Math.min(execEnd[r], end);
+            // Parçalar hizalı bölge başlangıcından 4 baytın katlarıyla ilerler; kelimeler sınırı aşmaz
+            from += (execStart[r] - from) & 3;
+            for (long p = from; p + 4 <= to; p += 4) {
+                int word = data.getInt(start + (int) (p - position));
+                if ((word & 0xFFE0001F) == 0xD4000001) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ByteBuffer readChunk(long position, int length) throws IOException {
+        chunk.clear();
+        chunk.limit(length);
+        ApkArchive.readFully(channel, base + position, chunk);
+        chunk.flip();
+        chunk.order(order);
+        return chunk;
+    }
+
+    /**
+     * Kütüphanenin {@code offset} konumundan {@code length} bayt okur.
+     */
+    private ByteBuffer read(long offset, int length, ByteOrder byteOrder) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new IOException("ELF table out of bounds");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(byteOrder);
+        ApkArchive.readFully(channel, base + offset, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void appendFlag(StringBuilder sb, int flags, int flag, String name) {
+        if ((flags & flag) != 0) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(name);
+        }
+    }
+}
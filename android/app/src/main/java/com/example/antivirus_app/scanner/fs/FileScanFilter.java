@@ -0,0 +1,119 @@
+package com.example.antivirus_app.scanner.fs;
+
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Dizin taramasında hangi dosyaların inceleneceğini belirleyen filtre.
+ *
+ * Ad ve boyut kontrolleri dosya açılmadan, dolaşma sırasında okunan
+ * özniteliklerle yapılır; sihirli bayt kontrolü yalnızca bunları geçen
+ * dosyaların başlığı okunarak yapılır. Değişmezdir.
+ */
+public final class FileScanFilter {
+    public static final FileScanFilter ALL = new Builder().build();
+
+    private final Set<String> extensions;
+    private final long minSize;
+    private final long maxSize;
+    private final boolean skipHiddenDirectories;
+    private final byte[][] magicPrefixes;
+
+    private FileScanFilter(Builder builder) {
+        this.extensions = new HashSet<>(builder.extensions);
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.skipHiddenDirectories = builder.skipHiddenDirectories;
+        this.magicPrefixes = builder.magicPrefixes.toArray(new byte[builder.magicPrefixes.size()][]);
+    }
+
+    public boolean acceptsDirectory(String name) {
+        return !(skipHiddenDirectories && name.startsWith("."));
+    }
+
+    public boolean acceptsName(String name) {
+        if (extensions.isEmpty()) {
+            return true;
+        }
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && extensions.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    public boolean acceptsSize(long size) {
+        return size >= minSize && size <= maxSize;
+    }
+
+    public boolean needsHeader() {
+        return magicPrefixes.length > 0;
+    }
+
+    /**
+     * Dosya başlığı sihirli bayt öneklerinden biriyle başlıyorsa true döner.
+     */
+    public boolean acceptsHeader(ByteBuffer header) {
+        for (byte[] prefix : magicPrefixes) {
+            if (header.remaining() < prefix.length) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < prefix.length && match; i++) {
+                match = header.get(header.position() + i) == prefix[i];
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return magicPrefixes.length == 0;
+    }
+
+    public static final class Builder {
+        private final Set<String> extensions = new HashSet<>();
+        private final List<byte[]> magicPrefixes = new ArrayList<>();
+        private long minSize;
+        private long maxSize = Long.MAX_VALUE;
+        private boolean skipHiddenDirectories = true;
+
+        /**
+         * Uzantıları noktasız ve büyük/küçük harf duyarsız olarak ekler; boş küme tüm dosyaları kabul eder.
+         */
+        public Builder extensions(@Nullable Collection<String> values) {
+            if (values != null) {
+                for (String value : values) {
+                    extensions.add(value.toLowerCase(Locale.ROOT));
+                }
+            }
+            return this;
+        }
+
+        public Builder minSize(long value) {
+            minSize = value;
+            return this;
+        }
+
+        public Builder maxSize(long value) {
+            maxSize = value;
+            return this;
+        }
+
+        public Builder skipHiddenDirectories(boolean value) {
+            skipHiddenDirectories = value;
+            return this;
+        }
+
+        public Builder magicPrefix(byte[] prefix) {
+            magicPrefixes.add(prefix.clone());
+            return this;
+        }
+
+        public FileScanFilter build() {
+            return new FileScanFilter(this);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.antivirus_app.scanner.fs;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Tek bir dosyanın tarama sonucu ve tarama sırasında okunan öznitelikleri.
+ */
+public final class FileScanResult {
+    public static final String STATUS_CLEAN = "CLEAN";
+    public static final String STATUS_INFECTED = "INFECTED";
+    public static final String STATUS_ERROR = "ERROR";
+
+    private final String path;
+    @Nullable
+    private final String name;
+    private final long size;
+    private final long lastModified;
+    private final int mode;
+    private final FileType type;
+    private final String status;
+    private final String message;
+
+    FileScanResult(String path, @Nullable String name, long size, long lastModified, int mode, FileType type,
+                   String status, String message) {
+        this.path = path;
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.mode = mode;
+        this.type = type;
+        this.status = status;
+        this.message = message;
+    }
+
+    static FileScanResult error(String path, String message) {
+        return new FileScanResult(path, null, 0, 0, 0, FileType.UNKNOWN, STATUS_ERROR, message);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isReadable() {
+        return FileWalker.isReadable(mode);
+    }
+
+    public boolean isExecutable() {
+        return FileWalker.isExecutable(mode);
+    }
+
+    public FileType getType() {
+        return type;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
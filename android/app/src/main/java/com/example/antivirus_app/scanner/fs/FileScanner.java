@@ -0,0 +1,177 @@
+package com.example.antivirus_app.scanner.fs;
+
+import android.system.OsConstants;
+import android.system.StructStat;
+import androidx.annotation.Nullable;
+
+import com.example.antivirus_app.scanner.ApkHashes;
+import com.example.antivirus_app.scanner.ScanEngine;
+import com.example.antivirus_app.scanner.rules.RuleScanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tek dosya ve dizin ağacı taraması.
+ *
+ * Dizinler {@link FileWalker} ile dolaşılır; her dosyanın öznitelikleri bir
+ * kez okunur ve sonuçlar parti parti dinleyiciye verilir. Her dosyanın
+ * yalnızca başlığı, yeniden kullanılan tek bir direct buffer'a okunur ve
+ * {@link FileTypeSniffer} ile sınıflandırılır; içeriği yalnızca riskli
+ * türler (ZIP/APK, DEX, ELF, betik) için okunur; özetler ve içerik kuralları
+ * aynı okumada hesaplanır. Medya ve diğer
+ * dosyalar bu tek okumayla temiz işaretlenir. Örnekler thread-safe değildir.
+ */
+public final class FileScanner {
+    /**
+     * Dolu partileri alır. Liste dinleyiciye devredilir, tarayıcı tekrar kullanmaz.
+     */
+    public interface BatchListener {
+        void onBatch(List<FileScanResult> batch);
+    }
+
+    private final ScanEngine engine;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(FileTypeSniffer.HEADER_SIZE);
+    @Nullable
+    private RuleScanner rules;
+
+    public FileScanner(ScanEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Tek bir dosyayı tarar; öznitelikler tek bir {@code stat} çağrısıyla okunur.
+     */
+    public FileScanResult scanFile(String path) {
+        StructStat st = FileWalker.stat(path);
+        if (st == null) {
+            return FileScanResult.error(path, "File does not exist");
+        }
+        if (OsConstants.S_ISDIR(st.st_mode)) {
+            return FileScanResult.error(path, "Path is a directory");
+        }
+        return inspect(path, new File(path).getName(), st.st_size, st.st_mtime * 1000L, st.st_mode, null);
+    }
+
+    /**
+     * Verilen dosya ve dizinleri filtreye göre tarar. {@code cancelled}
+     * işaretlendiğinde dolaşma ilk fırsatta durur ve son parti gönderilmez.
+     */
+    public void scanPaths(List<String> paths, FileScanFilter filter, int batchSize,
+                          AtomicBoolean cancelled, BatchListener listener) {
+        Batcher batcher = new Batcher(batchSize, listener);
+        for (String path : paths) {
+            if (cancelled.get()) {
+                return;
+            }
+            File root = new File(path);
+            if (root.isDirectory()) {
+                FileWalker.walk(root, filter, (filePath, name, size, lastModified, mode) -> {
+                    if (cancelled.get()) {
+                        return false;
+                    }
+                    FileScanResult result = inspect(filePath, name, size, lastModified, mode, filter);
+                    if (result != null) {
+                        batcher.add(result);
+                    }
+                    return true;
+                });
+            } else {
+                batcher.add(scanFile(path));
+            }
+        }
+        if (!cancelled.get()) {
+            batcher.flush();
+        }
+    }
+
+    /**
+     * Dosyayı sınıflandırıp gerekirse derin tarar; başlık filtreye uymuyorsa null döner.
+     */
+    @Nullable
+    private FileScanResult inspect(String path, String name, long size, long lastModified, int mode,
+                                   @Nullable FileScanFilter filter) {
+        if (!readHeader(path)) {
+            return new FileScanResult(path, name, size, lastModified, mode, FileType.UNKNOWN,
+                FileScanResult.STATUS_ERROR, "Could not read file");
+        }
+        if (filter != null && !filter.acceptsHeader(header)) {
+            return null;
+        }
+        FileType type = FileTypeSniffer.sniff(header);
+        if (type.isRisky()) {
+            try {
+                RuleScanner scanner = ruleScanner();
+                scanner.begin();
+                ApkHashes hashes = engine.hash(path, scanner);
+                List<String> matchedRules = scanner.finish();
+                if (engine.isKnownMalware(hashes)) {
+                    return new FileScanResult(path, name, size, lastModified, mode, type,
+                        FileScanResult.STATUS_INFECTED, "Known malware hash");
+                }
+                if (!matchedRules.isEmpty()) {
+                    return new FileScanResult(path, name, size, lastModified, mode, type,
+                        FileScanResult.STATUS_INFECTED, "Content rule match: " + RuleScanner.describe(matchedRules));
+                }
+            } catch (IOException e) {
+                return new FileScanResult(path, name, size, lastModified, mode, type,
+                    FileScanResult.STATUS_ERROR, "Could not read file");
+            }
+        }
+        return new FileScanResult(path, name, size, lastModified, mode, type,
+            FileScanResult.STATUS_CLEAN, "No threats detected");
+    }
+
+    private RuleScanner ruleScanner() {
+        if (rules == null || rules.getRuleSet() != engine.getContentRules()) {
+            rules = engine.getContentRules().newScanner();
+        }
+        return rules;
+    }
+
+    private boolean readHeader(String path) {
+        header.clear();
+        try (FileInputStream in = new FileInputStream(path)) {
+            FileChannel channel = in.getChannel();
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // başlık dolana veya dosya bitene kadar oku
+            }
+            header.flip();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static final class Batcher {
+        private final int batchSize;
+        private final BatchListener listener;
+        private List<FileScanResult> batch;
+
+        Batcher(int batchSize, BatchListener listener) {
+            this.batchSize = batchSize;
+            this.listener = listener;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        void add(FileScanResult result) {
+            batch.add(result);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                listener.onBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.antivirus_app.scanner.fs;
+
+/**
+ * Dosyanın başlık baytlarından belirlenen içerik türü.
+ */
+public enum FileType {
+    EMPTY(false),
+    ZIP(true),
+    DEX(true),
+    ELF(true),
+    SCRIPT(true),
+    IMAGE(false),
+    VIDEO(false),
+    AUDIO(false),
+    UNKNOWN(false);
+
+    private final boolean risky;
+
+    FileType(boolean risky) {
+        this.risky = risky;
+    }
+
+    /**
+     * Çalıştırılabilir kod taşıyabilen ve içeriği derin taranması gereken türler için true.
+     */
+    public boolean isRisky() {
+        return risky;
+    }
+}
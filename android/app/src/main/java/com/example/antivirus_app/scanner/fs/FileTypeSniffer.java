@@ -0,0 +1,100 @@
+package com.example.antivirus_app.scanner.fs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Dosya türünü yalnızca ilk birkaç yüz baytındaki sihirli baytlardan belirler.
+ *
+ * Uzantıya güvenilmez; uzantısı .jpg olan bir APK de ZIP olarak tanınır.
+ * APK, JAR ve diğer ZIP türevleri ayrıştırılmadan {@link FileType#ZIP}
+ * olarak sınıflandırılır.
+ */
+public final class FileTypeSniffer {
+    /** Sınıflandırma için okunması yeterli bayt sayısı. */
+    public static final int HEADER_SIZE = 512;
+
+    private FileTypeSniffer() {
+    }
+
+    /**
+     * Tamponun konumundan itibaren okunmuş başlığı sınıflandırır; tamponun konumu değişmez.
+     */
+    public static FileType sniff(ByteBuffer header) {
+        int base = header.position();
+        int length = header.remaining();
+        if (length == 0) {
+            return FileType.EMPTY;
+        }
+
+        if (startsWith(header, base, length, 0x50, 0x4B, 0x03, 0x04)
+                || startsWith(header, base, length, 0x50, 0x4B, 0x05, 0x06)) {
+            return FileType.ZIP;
+        }
+        if (startsWith(header, base, length, 'd', 'e', 'x', '\n')) {
+            return FileType.DEX;
+        }
+        if (startsWith(header, base, length, 0x7F, 'E', 'L', 'F')) {
+            return FileType.ELF;
+        }
+        if (startsWith(header, base, length, '#', '!')) {
+            return FileType.SCRIPT;
+        }
+
+        if (startsWith(header, base, length, 0xFF, 0xD8, 0xFF)
+                || startsWith(header, base, length, 0x89, 'P', 'N', 'G')
+                || startsWith(header, base, length, 'G', 'I', 'F', '8')
+                || startsWith(header, base, length, 'B', 'M')
+                || riffType(header, base, length, 'W', 'E', 'B', 'P')) {
+            return FileType.IMAGE;
+        }
+        if (length >= 12 && header.get(base + 4) == 'f' && header.get(base + 5) == 't'
+                && header.get(base + 6) == 'y' && header.get(base + 7) == 'p') {
+            // ISO medya (mp4, mov, 3gp, heic); HEIF fotoğrafları da bu gruba düşer
+            return isHeif(header, base) ? FileType.IMAGE : FileType.VIDEO;
+        }
+        if (startsWith(header, base, length, 0x1A, 0x45, 0xDF, 0xA3)
+                || riffType(header, base, length, 'A', 'V', 'I', ' ')) {
+            return FileType.VIDEO;
+        }
+        if (startsWith(header, base, length, 'I', 'D', '3')
+                || startsWith(header, base, length, 'O', 'g', 'g', 'S')
+                || startsWith(header, base, length, 'f', 'L', 'a', 'C')
+                || riffType(header, base, length, 'W', 'A', 'V', 'E')
+                || (length >= 2 && (header.get(base) & 0xFF) == 0xFF && (header.get(base + 1) & 0xE0) == 0xE0)) {
+            return FileType.AUDIO;
+        }
+        return FileType.UNKNOWN;
+    }
+
+    private static boolean startsWith(ByteBuffer header, int base, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header.get(base + i) & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean riffType(ByteBuffer header, int base, int length, int... type) {
+        if (length < 12 || !startsWith(header, base, length, 'R', 'I', 'F', 'F')) {
+            return false;
+        }
+        for (int i = 0; i < type.length; i++) {
+            if ((header.get(base + 8 + i) & 0xFF) != type[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHeif(ByteBuffer header, int base) {
+        int b8 = header.get(base + 8);
+        int b9 = header.get(base + 9);
+        int b10 = header.get(base + 10);
+        return b8 == 'h' && b9 == 'e' && (b10 == 'i' || b10 == 'v')
+            || b8 == 'm' && b9 == 'i' && b10 == 'f';
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.antivirus_app.scanner.fs;
+
+import android.system.ErrnoException;
+import android.system.Os;
+import android.system.OsConstants;
+import android.system.StructStat;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.util.ArrayDeque;
+
+/**
+ * Dizin ağaçlarını dolaşıp her normal dosya için öznitelikleri tek seferde
+ * okuyan yürüyücü.
+ *
+ * Dizin listesi {@link File#list()} ile alınıp her giriş için tek bir
+ * {@code lstat} çağrısı yapılır; tür, boyut, zaman ve izin bitleri bu
+ * çağrıdan gelir. {@code Files.walkFileTree} de giriş başına bir lstat
+ * yapar, ancak Android'de izin bitlerini taşımayan öznitelikler verir; bu
+ * yüzden tüm API seviyelerinde bu yol kullanılır. Sembolik bağlantılar
+ * izlenmez.
+ */
+public final class FileWalker {
+    /**
+     * Dolaşma sırasında bulunan dosyaları alır; false dönerse dolaşma durur.
+     */
+    public interface Visitor {
+        boolean onFile(String path, String name, long size, long lastModified, int mode);
+    }
+
+    private FileWalker() {
+    }
+
+    public static void walk(File root, FileScanFilter filter, Visitor visitor) {
+        ArrayDeque<String> directories = new ArrayDeque<>();
+        directories.push(root.getPath());
+        while (!directories.isEmpty()) {
+            String dir = directories.pop();
+            String[] names = new File(dir).list();
+            if (names == null) {
+                // Erişilemeyen dizinler (ör. başka uygulamaların dizinleri) atlanır
+                continue;
+            }
+            for (String name : names) {
+                String path = dir + File.separator + name;
+                StructStat st;
+                try {
+                    st = Os.lstat(path);
+                } catch (ErrnoException e) {
+                    continue;
+                }
+                if (OsConstants.S_ISDIR(st.st_mode)) {
+                    if (filter.acceptsDirectory(name)) {
+                        directories.push(path);
+                    }
+                } else if (OsConstants.S_ISREG(st.st_mode)
+                        && filter.acceptsName(name) && filter.acceptsSize(st.st_size)) {
+                    if (!visitor.onFile(path, name, st.st_size, st.st_mtime * 1000L, st.st_mode)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tek bir yolun özniteliklerini tek sistem çağrısıyla okur; yol yoksa null döner.
+     */
+    @Nullable
+    public static StructStat stat(String path) {
+        try {
+            return Os.stat(path);
+        } catch (ErrnoException e) {
+            return null;
+        }
+    }
+
+    public static boolean isExecutable(int mode) {
+        return (mode & (OsConstants.S_IXUSR | OsConstants.S_IXGRP | OsConstants.S_IXOTH)) != 0;
+    }
+
+    public static boolean isReadable(int mode) {
+        return (mode & (OsConstants.S_IRUSR | OsConstants.S_IRGRP | OsConstants.S_IROTH)) != 0;
+    }
+}
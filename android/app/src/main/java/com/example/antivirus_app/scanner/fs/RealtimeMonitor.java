@@ -0,0 +1,292 @@
+package com.example.antivirus_app.scanner.fs;
+
+import android.os.Environment;
+import android.os.FileObserver;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.antivirus_app.scanner.ScanEngine;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * İndirilenler, Belgeler ve WhatsApp medya dizinlerini {@link FileObserver}
+ * ile izleyip yazımı biten dosyaları tarayan gerçek zamanlı koruma.
+ *
+ * FileObserver özyinelemeli değildir; her dizin için ayrı bir izleyici
+ * gerekir. İzleyiciler başlangıçta yalnızca kök ve sınırlı derinlikteki alt
+ * dizinlere kurulur, yeni oluşturulan dizinlere olay geldikçe eklenir ve
+ * toplam sayı {@link #MAX_WATCHES} ile sınırlanır (inotify limitini
+ * tüketmemek için).
+ *
+ * Aynı dosya için art arda gelen CLOSE_WRITE/MOVED_TO olayları yola göre
+ * birleştirilir; dosya {@link #DEBOUNCE_MS} boyunca sessiz kaldığında sınırlı
+ * bir kuyruğa alınır. Kuyruk doluysa en eski iş düşürülür, bir sonraki tam
+ * tarama bu dosyaları yine kapsar.
+ */
+public final class RealtimeMonitor {
+    private static final String TAG = "RealtimeMonitor";
+
+    private static final int MAX_WATCHES = 256;
+    private static final int MAX_DEPTH = 4;
+    private static final int INITIAL_DEPTH = 2;
+    private static final long DEBOUNCE_MS = 1500;
+    private static final int QUEUE_CAPACITY = 128;
+
+    // inotify IN_ISDIR; FileObserver olay maskesinde ham olarak gelir
+    private static final int IN_ISDIR = 0x40000000;
+    private static final int FILE_EVENTS = FileObserver.CLOSE_WRITE | FileObserver.MOVED_TO;
+    private static final int WATCH_MASK = FILE_EVENTS | FileObserver.CREATE
+        | FileObserver.DELETE_SELF | FileObserver.MOVE_SELF;
+
+    /**
+     * Tehdit içeren bir dosya bulunduğunda tarama thread'inden çağrılır.
+     */
+    public interface Listener {
+        void onThreat(FileScanResult result);
+    }
+
+    private final ScanEngine engine;
+    private final Listener listener;
+    private final Map<String, DirectoryObserver> observers = new HashMap<>();
+    private final LinkedHashMap<String, Long> pendingPaths = new LinkedHashMap<>();
+    private final Runnable flushPending = this::flushPending;
+    private HandlerThread eventThread;
+    private volatile Handler eventHandler;
+    private volatile ThreadPoolExecutor scanQueue;
+    private volatile FileScanner scanner;
+
+    public RealtimeMonitor(ScanEngine engine, Listener listener) {
+        this.engine = engine;
+        this.listener = listener;
+    }
+
+    /**
+     * Varsayılan dizinleri izlemeye başlar. Zaten çalışıyorsa bir şey yapmaz.
+     */
+    public synchronized void start() {
+        if (eventThread != null) {
+            return;
+        }
+        eventThread = new HandlerThread("realtime-monitor", Process.THREAD_PRIORITY_BACKGROUND);
+        eventThread.start();
+        eventHandler = new Handler(eventThread.getLooper());
+
+        // Tarayıcı yalnızca tek kuyruk thread'inden kullanılır
+        scanner = new FileScanner(engine);
+        scanQueue = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY),
+            runnable -> new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "realtime-scan"),
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+        // Dizin ağaçları taranırken ana thread bloklanmasın
+        eventHandler.post(() -> {
+            for (File root : defaultRoots()) {
+                watchTree(root, 0, INITIAL_DEPTH);
+            }
+            Log.d(TAG, "Watching " + watchCount() + " directories");
+        });
+    }
+
+    public synchronized void stop() {
+        if (eventThread == null) {
+            return;
+        }
+        synchronized (observers) {
+            for (DirectoryObserver observer : observers.values()) {
+                observer.stopWatching();
+            }
+            observers.clear();
+        }
+        synchronized (pendingPaths) {
+            pendingPaths.clear();
+        }
+        eventThread.quitSafely();
+        scanQueue.shutdownNow();
+        eventThread = null;
+        eventHandler = null;
+        scanQueue = null;
+        scanner = null;
+    }
+
+    private static List<File> defaultRoots() {
+        File storage = Environment.getExternalStorageDirectory();
+        List<File> roots = new ArrayList<>();
+        roots.add(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS));
+        roots.add(Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOCUMENTS));
+        // Android 11+ kapsamlı depolama konumu ve eski konum
+        roots.add(new File(storage, "Android/media/com.whatsapp/WhatsApp/Media"));
+        roots.add(new File(storage, "WhatsApp/Media"));
+        return roots;
+    }
+
+    private int watchCount() {
+        synchronized (observers) {
+            return observers.size();
+        }
+    }
+
+    /**
+     * Dizini ve {@code maxDepth} derinliğe kadar alt dizinlerini izlemeye alır.
+     */
+    private void watchTree(File dir, int depth, int maxDepth) {
+        if (!watch(dir, depth) || depth >= maxDepth) {
+            return;
+        }
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            if (child.isDirectory() && !child.getName().startsWith(".")) {
+                watchTree(child, depth + 1, maxDepth);
+            }
+        }
+    }
+
+    private boolean watch(File dir, int depth) {
+        if (!dir.isDirectory()) {
+            return false;
+        }
+        String path = dir.getPath();
+        synchronized (observers) {
+            if (observers.containsKey(path)) {
+                return true;
+            }
+            if (observers.size() >= MAX_WATCHES) {
+                Log.w(TAG, "Watch limit reached, not watching " + path);
+                return false;
+            }
+            DirectoryObserver observer = new DirectoryObserver(path, depth);
+            observers.put(path, observer);
+            observer.startWatching();
+        }
+        return true;
+    }
+
+    private void unwatch(String path) {
+        synchronized (observers) {
+            DirectoryObserver observer = observers.remove(path);
+            if (observer != null) {
+                observer.stopWatching();
+            }
+        }
+    }
+
+    /**
+     * Olayı yola göre birleştirir; son olaydan itibaren bekleme süresi yeniden başlar.
+     */
+    private void onFileEvent(String path) {
+        Handler handler = eventHandler;
+        if (handler == null) {
+            return;
+        }
+        synchronized (pendingPaths) {
+            boolean wasEmpty = pendingPaths.isEmpty();
+            pendingPaths.remove(path);
+            pendingPaths.put(path, SystemClock.uptimeMillis());
+            if (wasEmpty) {
+                handler.postDelayed(flushPending, DEBOUNCE_MS);
+            }
+        }
+    }
+
+    private void flushPending() {
+        long now = SystemClock.uptimeMillis();
+        long nextDue = -1;
+        List<String> due = new ArrayList<>();
+        synchronized (pendingPaths) {
+            // Ekleme sırası son olay sırasıdır; ilk beklemedeki yolda durulabilir
+            Iterator<Map.Entry<String, Long>> it = pendingPaths.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> entry = it.next();
+                long dueAt = entry.getValue() + DEBOUNCE_MS;
+                if (dueAt > now) {
+                    nextDue = dueAt;
+                    break;
+                }
+                due.add(entry.getKey());
+                it.remove();
+            }
+        }
+        Handler handler = eventHandler;
+        if (nextDue >= 0 && handler != null) {
+            handler.postDelayed(flushPending, nextDue - now);
+        }
+        for (String path : due) {
+            enqueueScan(path);
+        }
+    }
+
+    private void enqueueScan(String path) {
+        ThreadPoolExecutor queue = scanQueue;
+        FileScanner fileScanner = scanner;
+        if (queue == null || fileScanner == null) {
+            return;
+        }
+        try {
+            queue.execute(() -> {
+                FileScanResult result = fileScanner.scanFile(path);
+                if (FileScanResult.STATUS_INFECTED.equals(result.getStatus())) {
+                    listener.onThreat(result);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Kapatılırken gelen olaylar
+        }
+    }
+
+    private final class DirectoryObserver extends FileObserver {
+        private final String directory;
+        private final int depth;
+
+        @SuppressWarnings("deprecation")
+        DirectoryObserver(String directory, int depth) {
+            super(directory, WATCH_MASK);
+            this.directory = directory;
+            this.depth = depth;
+        }
+
+        @Override
+        public void onEvent(int event, String name) {
+            if ((event & (FileObserver.DELETE_SELF | FileObserver.MOVE_SELF)) != 0) {
+                unwatch(directory);
+                return;
+            }
+            if (name == null) {
+                return;
+            }
+            String path = directory + File.separator + name;
+            if ((event & IN_ISDIR) != 0) {
+                // Yeni dizinler olay geldikçe, derinlik ve izleyici sınırına kadar eklenir
+                if ((event & (FileObserver.CREATE | FileObserver.MOVED_TO)) != 0 && depth < MAX_DEPTH
+                        && !name.startsWith(".")) {
+                    Handler handler = eventHandler;
+                    if (handler != null) {
+                        handler.post(() -> watchTree(new File(path), depth + 1, MAX_DEPTH));
+                    }
+                }
+                return;
+            }
+            if ((event & FILE_EVENTS) != 0) {
+                onFileEvent(path);
+            }
+        }
+    }
+}
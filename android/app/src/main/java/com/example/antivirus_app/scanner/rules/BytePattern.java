@@ -0,0 +1,31 @@
+package com.example.antivirus_app.scanner.rules;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Bir kuralın tek bir dizgi ya da hex deseni.
+ *
+ * Hex desenlerinde joker baytlar/yarım baytlar {@link #mask} ile ifade edilir;
+ * {@link #value} maskelenmiş olarak saklanır. Büyük/küçük harf duyarsız
+ * dizgiler küçük harfe çevrilerek saklanır.
+ */
+final class BytePattern {
+    final byte[] value;
+    @Nullable
+    final byte[] mask;
+    final boolean nocase;
+
+    BytePattern(byte[] value, @Nullable byte[] mask, boolean nocase) {
+        this.value = value;
+        this.mask = mask;
+        this.nocase = nocase;
+    }
+
+    int length() {
+        return value.length;
+    }
+
+    boolean isFixed(int index) {
+        return mask == null || mask[index] == (byte) 0xFF;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.antivirus_app.scanner.rules;
+
+/**
+ * Derlenmiş bir içerik kuralı: adı, desenlerinin {@link RuleSet} içindeki
+ * aralığı ve koşul ağacı.
+ */
+public final class ContentRule {
+    private final String name;
+    final int firstPattern;
+    final int patternCount;
+    private final Condition condition;
+
+    ContentRule(String name, int firstPattern, int patternCount, Condition condition) {
+        this.name = name;
+        this.firstPattern = firstPattern;
+        this.patternCount = patternCount;
+        this.condition = condition;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Koşulu, eşleşen desenlerin bit kümesi üzerinde değerlendirir.
+     */
+    boolean evaluate(long[] matched) {
+        return condition.evaluate(matched, firstPattern, patternCount);
+    }
+
+    static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    abstract static class Condition {
+        abstract boolean evaluate(long[] matched, int first, int count);
+    }
+
+    /** {@code $id} */
+    static final class PatternRef extends Condition {
+        private final int pattern;
+
+        PatternRef(int pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean evaluate(long[] matched, int first, int count) {
+            return isSet(matched, pattern);
+        }
+    }
+
+    /** {@code any of them}, {@code all of them}, {@code N of them} */
+    static final class CountOf extends Condition {
+        static final int ALL = -1;
+
+        private final int minimum;
+
+        CountOf(int minimum) {
+            this.minimum = minimum;
+        }
+
+        @Override
+        boolean evaluate(long[] matched, int first, int count) {
+            int required = minimum == ALL ? count : minimum;
+            int found = 0;
+            for (int i = first; i < first + count && found < required; i++) {
+                if (isSet(matched, i)) {
+                    found++;
+                }
+            }
+            return found >= required;
+        }
+    }
+
+    static final class And extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean evaluate(long[] matched, int first, int count) {
+            return left.evaluate(matched, first, count) && right.evaluate(matched, first, count);
+        }
+    }
+
+    static final class Or extends Condition {
+        private final Condition left;
+        private final Condition right;
+
+        Or(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        boolean evaluate(long[] matched, int first, int count) {
+            return left.evaluate(matched, first, count) || right.evaluate(matched, first, count);
+        }
+    }
+
+    static final class Not extends Condition {
+        private final Condition operand;
+
+        Not(Condition operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean evaluate(long[] matched, int first, int count) {
+            return !operand.evaluate(matched, first, count);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.antivirus_app.scanner.rules;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * YARA sözdiziminin küçük bir alt kümesini ayrıştırır:
+ *
+ * <pre>
+ * // açıklama
+ * rule Ad {
+ *   strings:
+ *     $a = "metin" nocase
+ *     $b = { 64 65 78 0A 3? ?? 00 }
+ *   condition:
+ *     ($a or $b) and not $c
+ *     // ayrıca: any of them, all of them, 2 of them
+ * }
+ * </pre>
+ *
+ * Dizgilerde \" \\ \n \r \t ve \xHH kaçışları desteklenir. Hex desenlerinde
+ * tam ve yarım bayt jokerleri desteklenir; atlamalar ve alternatifler
+ * desteklenmez.
+ */
+final class RuleParser {
+    static final int MAX_PATTERN_LENGTH = 256;
+
+    private final String source;
+    private final List<ContentRule> rules = new ArrayList<>();
+    private final List<BytePattern> patterns = new ArrayList<>();
+    private final Set<String> ruleNames = new HashSet<>();
+    private int pos;
+    private int line = 1;
+
+    private RuleParser(String source) {
+        this.source = source;
+    }
+
+    static RuleSet parse(String source) throws IOException {
+        RuleParser parser = new RuleParser(source);
+        parser.skipSpace();
+        while (parser.pos < source.length()) {
+            parser.parseRule();
+            parser.skipSpace();
+        }
+        return RuleSet.compile(parser.rules, parser.patterns);
+    }
+
+    private void parseRule() throws IOException {
+        expectWord("rule");
+        String name = identifier();
+        if (!ruleNames.add(name)) {
+            throw error("Duplicate rule " + name);
+        }
+        expect('{');
+
+        expectWord("strings");
+        expect(':');
+        int first = patterns.size();
+        Map<String, Integer> ids = new HashMap<>();
+        skipSpace();
+        while (peek() == '$') {
+            pos++;
+            String id = identifier();
+            expect('=');
+            skipSpace();
+            BytePattern pattern;
+            if (peek() == '"') {
+                pattern = textPattern();
+            } else if (peek() == '{') {
+                pattern = hexPattern();
+            } else {
+                throw error("Expected string or hex pattern for $" + id);
+            }
+            if (pattern.length() > MAX_PATTERN_LENGTH) {
+                throw error("Pattern $" + id + " is longer than " + MAX_PATTERN_LENGTH + " bytes");
+            }
+            if (ids.put(id, patterns.size()) != null) {
+                throw error("Duplicate string $" + id + " in rule " + name);
+            }
+            patterns.add(pattern);
+            skipSpace();
+        }
+        if (ids.isEmpty()) {
+            throw error("Rule " + name + " has no strings");
+        }
+
+        expectWord("condition");
+        expect(':');
+        ContentRule.Condition condition = orExpression(ids);
+        expect('}');
+        rules.add(new ContentRule(name, first, patterns.size() - first, condition));
+    }
+
+    private ContentRule.Condition orExpression(Map<String, Integer> ids) throws IOException {
+        ContentRule.Condition left = andExpression(ids);
+        while (acceptWord("or")) {
+            left = new ContentRule.Or(left, andExpression(ids));
+        }
+        return left;
+    }
+
+    private ContentRule.Condition andExpression(Map<String, Integer> ids) throws IOException {
+        ContentRule.Condition left = notExpression(ids);
+        while (acceptWord("and")) {
+            left = new ContentRule.And(left, notExpression(ids));
+        }
+        return left;
+    }
+
+    private ContentRule.Condition notExpression(Map<String, Integer> ids) throws IOException {
+        if (acceptWord("not")) {
+            return new ContentRule.Not(notExpression(ids));
+        }
+        return primary(ids);
+    }
+
+    private ContentRule.Condition primary(Map<String, Integer> ids) throws IOException {
+        skipSpace();
+        char ch = peek();
+        if (ch == '(') {
+            pos++;
+            ContentRule.Condition inner = orExpression(ids);
+            expect(')');
+            return inner;
+        }
+        if (ch == '$') {
+            pos++;
+            String id = identifier();
+            Integer pattern = ids.get(id);
+            if (pattern == null) {
+                throw error("Undefined string $" + id);
+            }
+            return new ContentRule.PatternRef(pattern);
+        }
+
+        int minimum;
+        if (acceptWord("any")) {
+            minimum = 1;
+        } else if (acceptWord("all")) {
+            minimum = ContentRule.CountOf.ALL;
+        } else if (ch >= '0' && ch <= '9') {
+            minimum = number();
+            if (minimum < 1 || minimum > ids.size()) {
+                throw error(minimum + " of them is out of range");
+            }
+        } else {
+            throw error("Unexpected '" + ch + "' in condition");
+        }
+        expectWord("of");
+        expectWord("them");
+        return new ContentRule.CountOf(minimum);
+    }
+
+    private BytePattern textPattern() throws IOException {
+        expect('"');
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StringBuilder plain = new StringBuilder();
+        while (true) {
+            if (pos >= source.length() || peek() == '\n') {
+                throw error("Unterminated string");
+            }
+            char ch = source.charAt(pos++);
+            if (ch == '"') {
+                break;
+            }
+            if (ch != '\\') {
+                plain.append(ch);
+                continue;
+            }
+            flushText(plain, bytes);
+            char escape = pos < source.length() ? source.charAt(pos++) : 0;
+            switch (escape) {
+                case '"':
+                case '\\':
+                    bytes.write(escape);
+                    break;
+                case 'n':
+                    bytes.write('\n');
+                    break;
+                case 'r':
+                    bytes.write('\r');
+                    break;
+                case 't':
+                    bytes.write('\t');
+                    break;
+                case 'x':
+                    if (pos + 2 > source.length()) {
+                        throw error("Truncated \\x escape");
+                    }
+                    bytes.write((hexDigit(source.charAt(pos)) << 4) | hexDigit(source.charAt(pos + 1)));
+                    pos += 2;
+                    break;
+                default:
+                    throw error("Unknown escape \\" + escape);
+            }
+        }
+        flushText(plain, bytes);
+        byte[] value = bytes.toByteArray();
+        if (value.length == 0) {
+            throw error("Empty string pattern");
+        }
+
+        boolean nocase = false;
+        while (acceptWord("nocase")) {
+            nocase = true;
+        }
+        if (nocase) {
+            for (int i = 0; i < value.length; i++) {
+                value[i] = (byte) RuleSet.fold(value[i] & 0xFF);
+            }
+        }
+        return new BytePattern(value, null, nocase);
+    }
+
+    private BytePattern hexPattern() throws IOException {
+        expect('{');
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        ByteArrayOutputStream mask = new ByteArrayOutputStream();
+        boolean wildcards = false;
+        while (true) {
+            skipSpace();
+            if (peek() == '}') {
+                pos++;
+                break;
+            }
+            if (pos + 2 > source.length()) {
+                throw error("Unterminated hex pattern");
+            }
+            int high = source.charAt(pos) == '?' ? -1 : hexDigit(source.charAt(pos));
+            int low = source.charAt(pos + 1) == '?' ? -1 : hexDigit(source.charAt(pos + 1));
+            pos += 2;
+            int byteMask = (high < 0 ? 0 : 0xF0) | (low < 0 ? 0 : 0x0F);
+            wildcards |= byteMask != 0xFF;
+            value.write(((high < 0 ? 0 : high) << 4) | (low < 0 ? 0 : low));
+            mask.write(byteMask);
+        }
+        if (value.size() == 0) {
+            throw error("Empty hex pattern");
+        }
+        return new BytePattern(value.toByteArray(), wildcards ? mask.toByteArray() : null, false);
+    }
+
+    private static void flushText(StringBuilder plain, ByteArrayOutputStream bytes) {
+        if (plain.length() > 0) {
+            byte[] encoded = plain.toString().getBytes(StandardCharsets.UTF_8);
+            bytes.write(encoded, 0, encoded.length);
+            plain.setLength(0);
+        }
+    }
+
+    private int hexDigit(char ch) throws IOException {
+        int digit = Character.digit(ch, 16);
+        if (digit < 0) {
+            throw error("Invalid hex digit '" + ch + "'");
+        }
+        return digit;
+    }
+
+    private String identifier() throws IOException {
+        skipSpace();
+        int start = pos;
+        while (pos < source.length() && isIdentifierChar(source.charAt(pos))) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error("Expected identifier");
+        }
+        return source.substring(start, pos);
+    }
+
+    private int number() throws IOException {
+        int start = pos;
+        while (pos < source.length() && Character.isDigit(source.charAt(pos)) && pos - start < 6) {
+            pos++;
+        }
+        return Integer.parseInt(source.substring(start, pos));
+    }
+
+    private boolean acceptWord(String word) {
+        skipSpace();
+        int end = pos + word.length();
+        if (source.startsWith(word, pos) && (end >= source.length() || !isIdentifierChar(source.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectWord(String word) throws IOException {
+        if (!acceptWord(word)) {
+            throw error("Expected '" + word + "'");
+        }
+    }
+
+    private void expect(char ch) throws IOException {
+        skipSpace();
+        if (peek() != ch) {
+            throw error("Expected '" + ch + "'");
+        }
+        pos++;
+    }
+
+    private char peek() {
+        return pos < source.length() ? source.charAt(pos) : 0;
+    }
+
+    private void skipSpace() {
+        while (pos < source.length()) {
+            char ch = source.charAt(pos);
+            if (ch == '\n') {
+                line++;
+                pos++;
+            } else if (Character.isWhitespace(ch)) {
+                pos++;
+            } else if (source.startsWith("//", pos)) {
+                while (pos < source.length() && source.charAt(pos) != '\n') {
+                    pos++;
+                }
+            } else if (source.startsWith("/*", pos)) {
+                int end = source.indexOf("*/", pos + 2);
+                end = end < 0 ? source.length() : end + 2;
+                for (int i = pos; i < end; i++) {
+                    if (source.charAt(i) == '\n') {
+                        line++;
+                    }
+                }
+                pos = end;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isIdentifierChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    private IOException error(String message) {
+        return new IOException("Line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.antivirus_app.scanner.rules;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bir {@link RuleSet}'i parça parça okunan içerik üzerinde çalıştırır.
+ *
+ * Otomat durumu, desen uzunluğu kadar geçmiş bayt ve parça sınırını aşan
+ * bekleyen doğrulamalar çağrılar arasında taşınır; böylece içerik hangi
+ * boyutta parçalara bölünürse bölünsün her bayt bir kez işlenir ve sınırdaki
+ * eşleşmeler kaçmaz. Bir desen bir kez eşleştikten sonra tekrar doğrulanmaz.
+ *
+ * Kullanım: {@link #begin()}, bir veya daha fazla akış için
+ * {@link #update(ByteBuffer)} ve akış sonlarında {@link #endStream()}, en
+ * sonda {@link #finish()}. Bir APK'nın DEX girişleri gibi birden çok akışın
+ * eşleşmeleri aynı koşullarda birleştirilir. Örnekler thread-safe değildir.
+ */
+public final class RuleScanner {
+    private final RuleSet rules;
+    private final long[] matched;
+    private final byte[] history;
+    private int historyLength;
+    private int state;
+    private long streamPosition;
+
+    private int[] pendingPattern = new int[16];
+    private long[] pendingStart = new long[16];
+    private int pendingCount;
+
+    // update() sırasında işlenen parça
+    private ByteBuffer chunk;
+    private int chunkOffset;
+    private long chunkStart;
+
+    RuleScanner(RuleSet rules) {
+        this.rules = rules;
+        this.matched = new long[(rules.patterns.length + 63) >>> 6];
+        this.history = new byte[rules.maxPatternLength - 1];
+    }
+
+    public RuleSet getRuleSet() {
+        return rules;
+    }
+
+    /**
+     * Önceki eşleşmeleri temizleyip yeni bir tarama başlatır.
+     */
+    public void begin() {
+        Arrays.fill(matched, 0);
+        endStream();
+    }
+
+    /**
+     * Akışın sıradaki parçasını tarar; parçanın konumu değişmez.
+     */
+    public void update(ByteBuffer data) {
+        int start = data.position();
+        int end = data.limit();
+        chunk = data;
+        chunkOffset = start;
+        chunkStart = streamPosition;
+        long chunkEnd = chunkStart + (end - start);
+
+        int s = state;
+        for (int i = start; i < end; i++) {
+            s = rules.next(s, data.get(i) & 0xFF);
+            for (int out = rules.firstOutput(s); out > 0; out = rules.outputLink[out]) {
+                for (int o = rules.outputHead[out]; o >= 0; o = rules.outputNext[o]) {
+                    candidate(rules.outputPattern[o], chunkStart + (i - start), chunkEnd);
+                }
+            }
+        }
+        state = s;
+
+        resolvePending(chunkEnd);
+        keepHistory(data, start, end);
+        streamPosition = chunkEnd;
+        chunk = null;
+    }
+
+    /**
+     * Akışı bitirir; eşleşmeler korunur, sonraki {@link #update} yeni bir
+     * akışın başı sayılır. Akış sonunu aşan desenler eşleşmemiş kalır.
+     */
+    public void endStream() {
+        state = 0;
+        streamPosition = 0;
+        historyLength = 0;
+        pendingCount = 0;
+    }
+
+    /**
+     * Taramayı bitirir ve koşulu sağlanan kuralların adlarını döner.
+     */
+    public List<String> finish() {
+        endStream();
+        List<String> names = new ArrayList<>();
+        for (int r = 0; r < rules.getRuleCount(); r++) {
+            ContentRule rule = rules.rule(r);
+            if (rule.evaluate(matched)) {
+                names.add(rule.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * {@link #finish()} sonucunu raporlar için virgülle ayrılmış tek satıra çevirir.
+     */
+    public static String describe(List<String> names) {
+        StringBuilder sb = new StringBuilder();
+        for (String name : names) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Atomu {@code position} konumunda biten desenin tamamını doğrular; desen
+     * parçanın ötesine uzanıyorsa doğrulamayı erteler.
+     */
+    private void candidate(int pattern, long position, long chunkEnd) {
+        if (ContentRule.isSet(matched, pattern)) {
+            return;
+        }
+        long start = position + 1 - rules.atomEnd[pattern];
+        if (start < 0) {
+            return;
+        }
+        if (start + rules.patterns[pattern].length() <= chunkEnd) {
+            if (verify(pattern, start)) {
+                matched[pattern >>> 6] |= 1L << pattern;
+            }
+            return;
+        }
+        if (pendingCount == pendingPattern.length) {
+            pendingPattern = Arrays.copyOf(pendingPattern, pendingCount * 2);
+            pendingStart = Arrays.copyOf(pendingStart, pendingCount * 2);
+        }
+        pendingPattern[pendingCount] = pattern;
+        pendingStart[pendingCount] = start;
+        pendingCount++;
+    }
+
+    private void resolvePending(long chunkEnd) {
+        int kept = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            int pattern = pendingPattern[i];
+            long start = pendingStart[i];
+            if (start + rules.patterns[pattern].length() > chunkEnd) {
+                pendingPattern[kept] = pattern;
+                pendingStart[kept] = start;
+                kept++;
+            } else if (!ContentRule.isSet(matched, pattern) && verify(pattern, start)) {
+                matched[pattern >>> 6] |= 1L << pattern;
+            }
+        }
+        pendingCount = kept;
+    }
+
+    private boolean verify(int index, long start) {
+        BytePattern pattern = rules.patterns[index];
+        byte[] value = pattern.value;
+        byte[] mask = pattern.mask;
+        for (int k = 0; k < value.length; k++) {
+            int b = byteAt(start + k);
+            if (pattern.nocase) {
+                b = RuleSet.fold(b);
+            }
+            if (mask != null) {
+                b &= mask[k] & 0xFF;
+            }
+            if (b != (value[k] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Akıştaki mutlak konumdaki bayt; güncel parçadan ya da geçmişten okunur.
+     */
+    private int byteAt(long position) {
+        if (position >= chunkStart) {
+            return chunk.get(chunkOffset + (int) (position - chunkStart)) & 0xFF;
+        }
+        return history[historyLength - (int) (chunkStart - position)] & 0xFF;
+    }
+
+    /**
+     * Sonraki parçadaki doğrulamalar için son {@code maxPatternLength - 1} baytı saklar.
+     */
+    private void keepHistory(ByteBuffer data, int start, int end) {
+        int capacity = history.length;
+        int length = end - start;
+        if (length >= capacity) {
+            for (int i = 0; i < capacity; i++) {
+                history[i] = data.get(end - capacity + i);
+            }
+            historyLength = capacity;
+            return;
+        }
+        int keep = Math.min(historyLength, capacity - length);
+        System.arraycopy(history, historyLength - keep, history, 0, keep);
+        for (int i = 0; i < length; i++) {
+            history[keep + i] = data.get(start + i);
+        }
+        historyLength = keep + length;
+    }
+}
@@ -0,0 +1,467 @@
+package com.example.antivirus_app.scanner.rules;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Derlenmiş içerik kuralları.
+ *
+ * Her desenden en ayırt edici sabit bayt dizisi ("atom", en fazla
+ * {@link #MAX_ATOM} bayt) seçilir ve tüm atomlar tek bir bayt düzeyinde
+ * Aho-Corasick otomatına eklenir. Kök ve çok çocuklu durumların geçişleri
+ * hata bağlantıları önceden çözülmüş 256'lık tam satırlardır; diğer durumların
+ * geçişleri etikete göre sıralı seyrek dizilerde tutulur ve eksik geçişler
+ * hata bağlantılarıyla en yakın tam satıra kadar çözülür. Böylece bellek atom
+ * bayt sayısıyla doğrusal kalır ve tarama maliyeti kural sayısından bağımsız
+ * olarak bayt başına sabit sayıda adımdır. Atom eşleştiğinde desenin tamamı
+ * {@link RuleScanner} tarafından doğrulanır.
+ *
+ * Büyük/küçük harf duyarsız desenlerde atom {@link #NOCASE_MAX_ATOM} bayta
+ * kısaltılır ve harflerin tüm büyük/küçük biçimleri otomata eklenir.
+ * Derlenmiş örnekler değişmezdir ve thread'ler arasında paylaşılabilir.
+ */
+public final class RuleSet {
+    static final int MAX_ATOM = 8;
+    static final int NOCASE_MAX_ATOM = 4;
+    private static final int MIN_ATOM = 2;
+    // Bu sayıdan az geçişi olan durumlarda doğrusal arama ikili aramadan hızlıdır
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    // Doğrusal aramaya sığmayan durumlar tam satır alır; satır sayısı (1 KB/satır) sınırlıdır
+    private static final int DENSE_MIN_CHILDREN = LINEAR_SEARCH_LIMIT + 1;
+    private static final int MAX_DENSE_ROWS = 4096;
+
+    private final ContentRule[] rules;
+    final BytePattern[] patterns;
+    /** Desen içinde atomun bittiği konum (hariç). */
+    final int[] atomEnd;
+    final int maxPatternLength;
+
+    /** Durumun tam satırının {@link #denseTransitions} içindeki başlangıcı; yoksa -1. */
+    private final int[] denseRow;
+    private final int[] denseTransitions;
+    private final int[] edgeStart;
+    private final byte[] edgeLabel;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    /** Durumda biten ilk çıktı; yoksa -1. */
+    final int[] outputHead;
+    /** Hata zincirinde çıktısı olan en yakın durum; yoksa 0. */
+    final int[] outputLink;
+    final int[] outputPattern;
+    final int[] outputNext;
+
+    private RuleSet(ContentRule[] rules, BytePattern[] patterns, int[] atomEnd, int maxPatternLength,
+                    int[] denseRow, int[] denseTransitions, int[] edgeStart, byte[] edgeLabel, int[] edgeTarget, int[] fail,
+                    int[] outputHead, int[] outputLink, int[] outputPattern, int[] outputNext) {
+        this.rules = rules;
+        this.patterns = patterns;
+        this.atomEnd = atomEnd;
+        this.maxPatternLength = maxPatternLength;
+        this.denseRow = denseRow;
+        this.denseTransitions = denseTransitions;
+        this.edgeStart = edgeStart;
+        this.edgeLabel = edgeLabel;
+        this.edgeTarget = edgeTarget;
+        this.fail = fail;
+        this.outputHead = outputHead;
+        this.outputLink = outputLink;
+        this.outputPattern = outputPattern;
+        this.outputNext = outputNext;
+    }
+
+    /**
+     * Kural kaynağını ayrıştırıp derler; sözdizimi hatalarında satır numarasıyla
+     * {@link IOException} fırlatır.
+     */
+    public static RuleSet compile(String source) throws IOException {
+        return RuleParser.parse(source);
+    }
+
+    public static RuleSet load(File file) throws IOException {
+        long length = file.length();
+        if (length > 16L * 1024 * 1024) {
+            throw new IOException("Rule file too large: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        try (InputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = in.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    throw new IOException("Rule file truncated: " + file);
+                }
+                offset += read;
+            }
+        }
+        return compile(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    public RuleScanner newScanner() {
+        return new RuleScanner(this);
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    public List<ContentRule> getRules() {
+        return Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    ContentRule rule(int index) {
+        return rules[index];
+    }
+
+    /**
+     * Otomatı bir bayt ilerletir.
+     */
+    int next(int state, int b) {
+        while (true) {
+            int row = denseRow[state];
+            if (row >= 0) {
+                return denseTransitions[row + b];
+            }
+            int target = child(state, b);
+            if (target >= 0) {
+                return target;
+            }
+            state = fail[state];
+        }
+    }
+
+    /**
+     * Durumda ya da hata zincirinde biten çıktılar için ilk durum; yoksa 0.
+     */
+    int firstOutput(int state) {
+        return outputHead[state] >= 0 ? state : outputLink[state];
+    }
+
+    private int child(int state, int b) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1];
+        if (high - low <= LINEAR_SEARCH_LIMIT) {
+            for (int i = low; i < high; i++) {
+                if ((edgeLabel[i] & 0xFF) == b) {
+                    return edgeTarget[i];
+                }
+            }
+            return -1;
+        }
+        high--;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int label = edgeLabel[mid] & 0xFF;
+            if (label < b) {
+                low = mid + 1;
+            } else if (label > b) {
+                high = mid - 1;
+            } else {
+                return edgeTarget[mid];
+            }
+        }
+        return -1;
+    }
+
+    static int fold(int b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+    static RuleSet compile(List<ContentRule> ruleList, List<BytePattern> patternList) throws IOException {
+        BytePattern[] patterns = patternList.toArray(new BytePattern[0]);
+        int[] atomEnd = new int[patterns.length];
+        Trie trie = new Trie();
+        int maxPatternLength = 1;
+
+        for (int p = 0; p < patterns.length; p++) {
+            BytePattern pattern = patterns[p];
+            maxPatternLength = Math.max(maxPatternLength, pattern.length());
+            int maxAtom = pattern.nocase ? NOCASE_MAX_ATOM : MAX_ATOM;
+            int atomStart = selectAtom(pattern, maxAtom);
+            if (atomStart < 0) {
+                throw new IOException("Pattern " + p + " of rule "
+                    + ruleOf(ruleList, p).getName() + " needs at least " + MIN_ATOM + " consecutive fixed bytes");
+            }
+            int atomLength = fixedRun(pattern, atomStart, maxAtom);
+            atomEnd[p] = atomStart + atomLength;
+
+            byte[] atom = Arrays.copyOfRange(pattern.value, atomStart, atomStart + atomLength);
+            if (pattern.nocase) {
+                insertCaseVariants(trie, atom, p);
+            } else {
+                trie.add(atom, p);
+            }
+        }
+
+        return trie.build(ruleList.toArray(new ContentRule[0]), patterns, atomEnd, maxPatternLength);
+    }
+
+    /**
+     * Desende en fazla {@code maxLength} uzunluğunda, yalnızca sabit baytlardan
+     * oluşan en iyi pencerenin başlangıcını döner. Uzun ve 00/FF/boşluk gibi
+     * yaygın baytları az içeren pencereler tercih edilir. Uygun pencere yoksa -1.
+     */
+    private static int selectAtom(BytePattern pattern, int maxLength) {
+        int bestStart = -1;
+        int bestScore = 0;
+        int length = pattern.length();
+        for (int start = 0; start < length; start++) {
+            int run = fixedRun(pattern, start, maxLength);
+            int score = 0;
+            for (int i = start; i < start + run; i++) {
+                int b = pattern.value[i] & 0xFF;
+                score += b == 0x00 || b == 0xFF || b == 0x20 ? 1 : 3;
+            }
+            if (run >= MIN_ATOM && score > bestScore) {
+                bestScore = score;
+                bestStart = start;
+            }
+        }
+        return bestStart;
+    }
+
+    /**
+     * {@code start} konumundan başlayan, en fazla {@code maxLength} uzunluğundaki
+     * sabit bayt dizisinin uzunluğu.
+     */
+    private static int fixedRun(BytePattern pattern, int start, int maxLength) {
+        int end = Math.min(pattern.length(), start + maxLength);
+        int i = start;
+        while (i < end && pattern.isFixed(i)) {
+            i++;
+        }
+        return i - start;
+    }
+
+    private static void insertCaseVariants(Trie trie, byte[] atom, int pattern) {
+        int[] letters = new int[atom.length];
+        int letterCount = 0;
+        for (int i = 0; i < atom.length; i++) {
+            if (atom[i] >= 'a' && atom[i] <= 'z') {
+                letters[letterCount++] = i;
+            }
+        }
+        byte[] variant = new byte[atom.length];
+        for (int combination = 0; combination < (1 << letterCount); combination++) {
+            System.arraycopy(atom, 0, variant, 0, atom.length);
+            for (int j = 0; j < letterCount; j++) {
+                if ((combination & (1 << j)) != 0) {
+                    variant[letters[j]] = (byte) (atom[letters[j]] - ('a' - 'A'));
+                }
+            }
+            trie.add(variant, pattern);
+        }
+    }
+
+    private static ContentRule ruleOf(List<ContentRule> rules, int pattern) {
+        for (ContentRule rule : rules) {
+            if (pattern >= rule.firstPattern && pattern < rule.firstPattern + rule.patternCount) {
+                return rule;
+            }
+        }
+        throw new IllegalStateException("Pattern " + pattern + " has no rule");
+    }
+
+    /**
+     * Derleme sırasında kullanılan, çocukları bağlı listelerde tutulan trie.
+     */
+    private static final class Trie {
+        private int stateCount = 1;
+        private int[] firstChild = new int[256];
+        private int[] nextSibling = new int[256];
+        private byte[] label = new byte[256];
+        private int[] outputHead = new int[256];
+        private int outputCount;
+        private int[] outputPattern = new int[256];
+        private int[] outputNext = new int[256];
+
+        Trie() {
+            Arrays.fill(firstChild, -1);
+            Arrays.fill(outputHead, -1);
+        }
+
+        void add(byte[] atom, int pattern) {
+            int state = 0;
+            for (byte b : atom) {
+                int child = findChild(state, b);
+                if (child < 0) {
+                    child = newState(b);
+                    nextSibling[child] = firstChild[state];
+                    firstChild[state] = child;
+                }
+                state = child;
+            }
+            for (int o = outputHead[state]; o >= 0; o = outputNext[o]) {
+                if (outputPattern[o] == pattern) {
+                    return;
+                }
+            }
+            if (outputCount == outputPattern.length) {
+                outputPattern = Arrays.copyOf(outputPattern, outputCount * 2);
+                outputNext = Arrays.copyOf(outputNext, outputCount * 2);
+            }
+            outputPattern[outputCount] = pattern;
+            outputNext[outputCount] = outputHead[state];
+            outputHead[state] = outputCount++;
+        }
+
+        private int childCount(int state) {
+            int count = 0;
+            for (int child = firstChild[state]; child >= 0; child = nextSibling[child]) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Derleme sırasında {@link RuleSet#next} karşılığı; yalnızca satırı
+         * doldurulmuş tam satırlara başvurur.
+         */
+        private int resolve(int[] denseRow, int[] denseTransitions, int[] fail, int state, int b) {
+            while (true) {
+                int row = denseRow[state];
+                if (row >= 0) {
+                    return denseTransitions[row + b];
+                }
+                int target = findChild(state, (byte) b);
+                if (target >= 0) {
+                    return target;
+                }
+                state = fail[state];
+            }
+        }
+
+        private int findChild(int state, byte b) {
+            for (int child = firstChild[state]; child >= 0; child = nextSibling[child]) {
+                if (label[child] == b) {
+                    return child;
+                }
+            }
+            return -1;
+        }
+
+        private int newState(byte b) {
+            if (stateCount == label.length) {
+                int capacity = stateCount * 2;
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                label = Arrays.copyOf(label, capacity);
+                outputHead = Arrays.copyOf(outputHead, capacity);
+                Arrays.fill(firstChild, stateCount, capacity, -1);
+                Arrays.fill(outputHead, stateCount, capacity, -1);
+            }
+            label[stateCount] = b;
+            return stateCount++;
+        }
+
+        RuleSet build(ContentRule[] rules, BytePattern[] patterns, int[] atomEnd, int maxPatternLength) {
+            // Seyrek geçişleri etikete göre sıralı düz dizilere aç
+            int[] edgeStart = new int[stateCount + 1];
+            byte[] edgeLabel = new byte[stateCount - 1];
+            int[] edgeTarget = new int[stateCount - 1];
+            int[] children = new int[256];
+            int edge = 0;
+            for (int state = 0; state < stateCount; state++) {
+                edgeStart[state] = edge;
+                int count = 0;
+                for (int child = firstChild[state]; child >= 0; child = nextSibling[child]) {
+                    children[count++] = child;
+                }
+                // Eklemeli sıralama; durum başına en fazla 256 çocuk
+                for (int i = 1; i < count; i++) {
+                    int child = children[i];
+                    int j = i - 1;
+                    while (j >= 0 && (label[children[j]] & 0xFF) > (label[child] & 0xFF)) {
+                        children[j + 1] = children[j];
+                        j--;
+                    }
+                    children[j + 1] = child;
+                }
+                for (int i = 0; i < count; i++) {
+                    edgeLabel[edge] = label[children[i]];
+                    edgeTarget[edge] = children[i];
+                    edge++;
+                }
+            }
+            edgeStart[stateCount] = edge;
+
+            int[] rootTransitions = new int[256];
+            for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+                rootTransitions[label[child] & 0xFF] = child;
+            }
+
+            // Hata ve çıktı bağlantıları (genişlik öncelikli)
+            int[] fail = new int[stateCount];
+            int[] outputLink = new int[stateCount];
+            int[] heads = Arrays.copyOf(outputHead, stateCount);
+            int[] order = new int[stateCount];
+            int ordered = 1; // order[0] = kök
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                order[ordered++] = state;
+                for (int child = firstChild[state]; child >= 0; child = nextSibling[child]) {
+                    int b = label[child] & 0xFF;
+                    int f = fail[state];
+                    int target = -1;
+                    while (true) {
+                        if (f == 0) {
+                            target = rootTransitions[b];
+                            break;
+                        }
+                        target = findChild(f, label[child]);
+                        if (target >= 0) {
+                            break;
+                        }
+                        f = fail[f];
+                    }
+                    fail[child] = target;
+                    outputLink[child] = heads[target] >= 0 ? target : outputLink[target];
+                    queue.add(child);
+                }
+            }
+
+            // Kök ve çok çocuklu durumlara tam satır; hata durumu daha sığ olduğundan
+            // genişlik öncelikli sırada satırı her zaman önceden çözülmüştür
+            int[] denseRow = new int[stateCount];
+            Arrays.fill(denseRow, -1);
+            int rows = 0;
+            for (int state : order) {
+                if (rows < MAX_DENSE_ROWS && (state == 0 || childCount(state) >= DENSE_MIN_CHILDREN)) {
+                    denseRow[state] = 256 * rows++;
+                }
+            }
+            int[] denseTransitions = new int[256 * rows];
+            for (int state : order) {
+                int row = denseRow[state];
+                if (row < 0) {
+                    continue;
+                }
+                for (int b = 0; b < 256; b++) {
+                    int target = findChild(state, (byte) b);
+                    if (target < 0) {
+                        target = state == 0 ? 0 : resolve(denseRow, denseTransitions, fail, fail[state], b);
+                    }
+                    denseTransitions[row + b] = target;
+                }
+            }
+
+            return new RuleSet(rules, patterns, atomEnd, maxPatternLength, denseRow, denseTransitions,
+                edgeStart, edgeLabel, edgeTarget, fail, heads, outputLink,
+                Arrays.copyOf(outputPattern, outputCount), Arrays.copyOf(outputNext, outputCount));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.antivirus_app.scanner.signature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Belleğe eşlenmiş, salt okunur SHA-256 imza veritabanı.
+ *
+ * Dosya açılırken yalnızca başlık doğrulanır; kayıtlar Java nesnelerine
+ * dönüştürülmez. Sorgu önce Bloom filtresine bakar, olası eşleşmelerde sıralı
+ * sabit genişlikli kayıtlar üzerinde ikili arama yapar. Sorgular bellek ayırmaz
+ * ve thread-safe'tir. Dosya düzeni:
+ *
+ * <pre>
+ * 0  int  magic ("AVSD")
+ * 4  int  formatVersion
+ * 8  long version        (imza içeriğinin sürümü, delta güncellemeleri için)
+ * 16 long recordCount
+ * 24 int  bloomHashCount
+ * 28 int  reserved
+ * 32 long bloomBitCount  (ikinin kuvveti)
+ * 40 byte[bloomBitCount / 8] bloom
+ *    byte[recordCount * 32]  artan sırada (işaretsiz) SHA-256 kayıtları
+ * </pre>
+ */
+public final class SignatureDatabase {
+    public static final int RECORD_SIZE = 32;
+
+    static final int MAGIC = 0x41565344; // "AVSD"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 40;
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final long version;
+    private final int recordCount;
+    private final int bloomHashCount;
+    private final long bloomMask;
+    private final int recordsOffset;
+
+    private SignatureDatabase(File file, MappedByteBuffer buffer, long version,
+                              int recordCount, int bloomHashCount, long bloomBitCount) {
+        this.file = file;
+        this.buffer = buffer;
+        this.version = version;
+        this.recordCount = recordCount;
+        this.bloomHashCount = bloomHashCount;
+        this.bloomMask = bloomBitCount - 1;
+        this.recordsOffset = HEADER_SIZE + (int) (bloomBitCount >>> 3);
+    }
+
+    /**
+     * Veritabanı dosyasını belleğe eşler ve başlığını doğrular. Eşleme kanal
+     * kapandıktan sonra da geçerlidir ve GC tarafından bırakılır.
+     */
+    public static SignatureDatabase open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long size = raf.length();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid signature database size: " + size);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unknown signature database format");
+            }
+            long version = buffer.getLong(8);
+            long recordCount = buffer.getLong(16);
+            int bloomHashCount = buffer.getInt(24);
+            long bloomBitCount = buffer.getLong(32);
+            if (bloomBitCount < 8 || Long.bitCount(bloomBitCount) != 1 || bloomHashCount < 1
+                    || recordCount < 0 || recordCount > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt signature database header");
+            }
+            long expectedSize = HEADER_SIZE + (bloomBitCount >>> 3) + recordCount * RECORD_SIZE;
+            if (expectedSize != size) {
+                throw new IOException("Signature database size mismatch: " + size + " != " + expectedSize);
+            }
+
+            return new SignatureDatabase(file, buffer, version, (int) recordCount, bloomHashCount, bloomBitCount);
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Verilen SHA-256 özetinin veritabanında olup olmadığını döner.
+     */
+    public boolean contains(byte[] sha256) {
+        if (sha256.length != RECORD_SIZE) {
+            throw new IllegalArgumentException("Expected 32-byte digest");
+        }
+        long k0 = readLong(sha256, 0);
+        long k1 = readLong(sha256, 8);
+        long k2 = readLong(sha256, 16);
+        long k3 = readLong(sha256, 24);
+
+        if (!mightContain(k0, k1)) {
+            return false;
+        }
+        return indexOf(k0, k1, k2, k3) >= 0;
+    }
+
+    /**
+     * Kayıt bölgesinin, başa konumlanmış bağımsız bir görünümünü döner; delta
+     * birleştirmesi kayıtları bununla sırayla okur.
+     */
+    ByteBuffer records() {
+        ByteBuffer view = buffer.duplicate();
+        view.position(recordsOffset);
+        return view.slice();
+    }
+
+    private boolean mightContain(long h1, long h2) {
+        // SHA-256 zaten düzgün dağılımlı; çift özetleme için ilk iki kelime yeterli
+        long step = h2 | 1;
+        for (int i = 0; i < bloomHashCount; i++) {
+            long bit = (h1 + i * step) & bloomMask;
+            int b = buffer.get(HEADER_SIZE + (int) (bit >>> 3));
+            if ((b & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(long k0, long k1, long k2, long k3) {
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = recordsOffset + mid * RECORD_SIZE;
+            int cmp = compareUnsigned(buffer.getLong(offset), k0);
+            if (cmp == 0) {
+                cmp = compareUnsigned(buffer.getLong(offset + 8), k1);
+                if (cmp == 0) {
+                    cmp = compareUnsigned(buffer.getLong(offset + 16), k2);
+                    if (cmp == 0) {
+                        cmp = compareUnsigned(buffer.getLong(offset + 24), k3);
+                    }
+                }
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // Long.compareUnsigned API 26 ile geldi
+    private static int compareUnsigned(long a, long b) {
+        return Long.compare(a + Long.MIN_VALUE, b + Long.MIN_VALUE);
+    }
+
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    static void setBloomBits(byte[] bloom, long bloomBitCount, int hashCount, long h1, long h2) {
+        long mask = bloomBitCount - 1;
+        long step = h2 | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * step) & mask;
+            bloom[(int) (bit >>> 3)] |= (byte) (1 << (bit & 7));
+        }
+    }
+}
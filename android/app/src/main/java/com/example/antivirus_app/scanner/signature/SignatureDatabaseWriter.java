@@ -0,0 +1,158 @@
+package com.example.antivirus_app.scanner.signature;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link SignatureDatabase} dosyalarını akış halinde yazar.
+ *
+ * Kayıtlar artan sırada eklenmelidir; tekrar eden kayıtlar atlanır. Bloom
+ * filtresi beklenen kayıt sayısına göre boyutlanır ve yazma sırasında bellekte
+ * oluşturulur, kayıtlar ise doğrudan dosyaya akar. {@link #finish()} başlığı ve
+ * filtreyi yazıp dosyayı diske senkronlar.
+ */
+public final class SignatureDatabaseWriter implements Closeable {
+    // Kayıt başına ~10 bit ve 7 özet fonksiyonu yaklaşık %1 yanlış pozitif verir
+    private static final int BLOOM_BITS_PER_RECORD = 10;
+    private static final int BLOOM_HASH_COUNT = 7;
+    private static final long MIN_BLOOM_BITS = 64;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final FileOutputStream out;
+    private final FileChannel channel;
+    private final long version;
+    private final long bloomBitCount;
+    private final byte[] bloom;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final byte[] last = new byte[SignatureDatabase.RECORD_SIZE];
+
+    private long recordCount;
+    private boolean finished;
+
+    public SignatureDatabaseWriter(File file, long version, long expectedRecordCount) throws IOException {
+        this.file = file;
+        this.version = version;
+        this.bloomBitCount = bloomBitsFor(expectedRecordCount);
+        this.bloom = new byte[(int) (bloomBitCount >>> 3)];
+        this.out = new FileOutputStream(file);
+        this.channel = out.getChannel();
+        channel.position(SignatureDatabase.HEADER_SIZE + bloom.length);
+    }
+
+    /**
+     * Verilen özetleri sıralayıp tekrarları atarak tek seferde bir veritabanı yazar.
+     */
+    public static void writeAll(File file, long version, Collection<byte[]> hashes) throws IOException {
+        List<byte[]> sorted = new ArrayList<>(hashes);
+        Collections.sort(sorted, SignatureDatabaseWriter::compare);
+        try (SignatureDatabaseWriter writer = new SignatureDatabaseWriter(file, version, sorted.size())) {
+            for (byte[] hash : sorted) {
+                writer.add(hash, 0);
+            }
+            writer.finish();
+        }
+    }
+
+    /**
+     * Bir kaydı ekler. Kayıtlar önceki kayıttan büyük ya da ona eşit olmalıdır.
+     */
+    public void add(byte[] source, int offset) throws IOException {
+        if (recordCount > 0) {
+            int cmp = compare(source, offset, last, 0);
+            if (cmp == 0) {
+                return;
+            }
+            if (cmp < 0) {
+                throw new IllegalStateException("Records must be added in ascending order");
+            }
+        }
+        System.arraycopy(source, offset, last, 0, SignatureDatabase.RECORD_SIZE);
+
+        SignatureDatabase.setBloomBits(bloom, bloomBitCount, BLOOM_HASH_COUNT,
+            SignatureDatabase.readLong(source, offset), SignatureDatabase.readLong(source, offset + 8));
+
+        if (writeBuffer.remaining() < SignatureDatabase.RECORD_SIZE) {
+            flushRecords();
+        }
+        writeBuffer.put(source, offset, SignatureDatabase.RECORD_SIZE);
+        recordCount++;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public void finish() throws IOException {
+        flushRecords();
+        long end = channel.position();
+
+        ByteBuffer header = ByteBuffer.allocate(SignatureDatabase.HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(SignatureDatabase.MAGIC);
+        header.putInt(SignatureDatabase.FORMAT_VERSION);
+        header.putLong(version);
+        header.putLong(recordCount);
+        header.putInt(BLOOM_HASH_COUNT);
+        header.putInt(0);
+        header.putLong(bloomBitCount);
+        header.flip();
+        writeFully(header, 0);
+        writeFully(ByteBuffer.wrap(bloom), SignatureDatabase.HEADER_SIZE);
+
+        channel.truncate(end);
+        channel.force(true);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (!finished) {
+            // Yarım kalan dosya geçerli bir veritabanı değildir
+            file.delete();
+        }
+    }
+
+    static int compare(byte[] a, byte[] b) {
+        return compare(a, 0, b, 0);
+    }
+
+    static int compare(byte[] a, int aOffset, byte[] b, int bOffset) {
+        for (int i = 0; i < SignatureDatabase.RECORD_SIZE; i++) {
+            int cmp = (a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    private void flushRecords() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static long bloomBitsFor(long expectedRecordCount) {
+        long wanted = Math.max(MIN_BLOOM_BITS, expectedRecordCount * BLOOM_BITS_PER_RECORD);
+        long bits = Long.highestOneBit(wanted);
+        return bits < wanted ? bits << 1 : bits;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.antivirus_app.scanner.signature;
+
+import androidx.annotation.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * İmza veritabanı için artımlı güncelleme biçimi.
+ *
+ * Bir delta, belirli bir taban sürümüne göre eklenen ve silinen kayıtları
+ * sıralı bloklar halinde taşır; böylece güncelleme boyutu değişiklik sayısıyla
+ * orantılıdır. Uygulama, taban veritabanı ile iki bloğun akış halinde
+ * birleştirilmesiyle yeni bir dosya üretir. Dosya düzeni:
+ *
+ * <pre>
+ * 0  int  magic ("AVDD")
+ * 4  int  formatVersion
+ * 8  long baseVersion
+ * 16 long targetVersion
+ * 24 long addedCount
+ * 32 long removedCount
+ * 40 byte[addedCount * 32]   artan sırada eklenen kayıtlar
+ *    byte[removedCount * 32] artan sırada silinen kayıtlar
+ *    long crc32 (önceki tüm baytlar)
+ * </pre>
+ */
+public final class SignatureDelta {
+    private static final int MAGIC = 0x41564444; // "AVDD"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int RECORD_SIZE = SignatureDatabase.RECORD_SIZE;
+    private static final int CHECKSUM_CHUNK_SIZE = 64 * 1024;
+
+    private final MappedByteBuffer buffer;
+    private final long baseVersion;
+    private final long targetVersion;
+    private final int addedCount;
+    private final int removedCount;
+
+    private SignatureDelta(MappedByteBuffer buffer, long baseVersion, long targetVersion, int addedCount, int removedCount) {
+        this.buffer = buffer;
+        this.baseVersion = baseVersion;
+        this.targetVersion = targetVersion;
+        this.addedCount = addedCount;
+        this.removedCount = removedCount;
+    }
+
+    /**
+     * Delta dosyasını eşler, başlığını ve sağlama toplamını doğrular.
+     */
+    public static SignatureDelta open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long size = raf.length();
+            if (size < HEADER_SIZE + 8 || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid signature delta size: " + size);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unknown signature delta format");
+            }
+            long baseVersion = buffer.getLong(8);
+            long targetVersion = buffer.getLong(16);
+            long addedCount = buffer.getLong(24);
+            long removedCount = buffer.getLong(32);
+            if (addedCount < 0 || removedCount < 0
+                    || HEADER_SIZE + (addedCount + removedCount) * RECORD_SIZE + 8 != size) {
+                throw new IOException("Corrupt signature delta header");
+            }
+            if (targetVersion <= baseVersion) {
+                throw new IOException("Delta does not advance version: " + baseVersion + " -> " + targetVersion);
+            }
+
+            // İndirme sırasında bozulmuş deltayı uygulamadan önce yakala
+            if (buffer.getLong((int) size - 8) != checksum(buffer, (int) size - 8)) {
+                throw new IOException("Signature delta checksum mismatch");
+            }
+            // Birleştirme sıralı girdilere dayanır; sırasız bir blok yarıda kalmasın
+            checkAscending(buffer, HEADER_SIZE, (int) addedCount, "added");
+            checkAscending(buffer, HEADER_SIZE + (int) addedCount * RECORD_SIZE, (int) removedCount, "removed");
+
+            return new SignatureDelta(buffer, baseVersion, targetVersion, (int) addedCount, (int) removedCount);
+        }
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getTargetVersion() {
+        return targetVersion;
+    }
+
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    /**
+     * Deltayı tabana uygulayıp sonucu {@code out} dosyasına yazar. Taban yoksa
+     * (ilk kurulum) boş bir veritabanı varsayılır ve baseVersion 0 olmalıdır.
+     */
+    public void applyTo(@Nullable SignatureDatabase base, File out) throws IOException {
+        long currentVersion = base != null ? base.getVersion() : 0;
+        if (currentVersion != baseVersion) {
+            throw new IOException("Delta expects base v" + baseVersion + " but current is v" + currentVersion);
+        }
+
+        ByteBuffer baseRecords = base != null ? base.records() : ByteBuffer.allocate(0);
+        ByteBuffer added = section(HEADER_SIZE, addedCount);
+        ByteBuffer removed = section(HEADER_SIZE + addedCount * RECORD_SIZE, removedCount);
+
+        byte[] baseHead = new byte[RECORD_SIZE];
+        byte[] addedHead = new byte[RECORD_SIZE];
+        byte[] removedHead = new byte[RECORD_SIZE];
+        boolean hasBase = next(baseRecords, baseHead);
+        boolean hasAdded = next(added, addedHead);
+        boolean hasRemoved = next(removed, removedHead);
+
+        long expected = (base != null ? base.getRecordCount() : 0) + addedCount;
+        try (SignatureDatabaseWriter writer = new SignatureDatabaseWriter(out, targetVersion, expected)) {
+            while (hasBase || hasAdded) {
+                // Sıradaki en küçük kaydı seç
+                byte[] candidate;
+                if (!hasAdded || (hasBase && SignatureDatabaseWriter.compare(baseHead, addedHead) <= 0)) {
+                    candidate = baseHead;
+                } else {
+                    candidate = addedHead;
+                }
+
+                while (hasRemoved && SignatureDatabaseWriter.compare(removedHead, candidate) < 0) {
+                    hasRemoved = next(removed, removedHead);
+                }
+                if (!hasRemoved || SignatureDatabaseWriter.compare(removedHead, candidate) != 0) {
+                    // Yazıcı aynı kaydın ikinci kez eklenmesini yok sayar
+                    writer.add(candidate, 0);
+                }
+
+                if (candidate == baseHead) {
+                    hasBase = next(baseRecords, baseHead);
+                } else {
+                    hasAdded = next(added, addedHead);
+                }
+            }
+            writer.finish();
+        } catch (IllegalStateException e) {
+            // Taban veritabanı sırasızsa yazıcı kaydı reddeder
+            throw new IOException("Signature records out of order", e);
+        }
+    }
+
+    /**
+     * Sunucu tarafı ve testler için: iki kayıt kümesinden bir delta dosyası yazar.
+     */
+    public static void write(File file, long baseVersion, long targetVersion,
+                             Collection<byte[]> added, Collection<byte[]> removed) throws IOException {
+        List<byte[]> sortedAdded = new ArrayList<>(added);
+        Collections.sort(sortedAdded, SignatureDatabaseWriter::compare);
+        List<byte[]> sortedRemoved = new ArrayList<>(removed);
+        Collections.sort(sortedRemoved, SignatureDatabaseWriter::compare);
+
+        try (FileOutputStream fileOut = new FileOutputStream(file)) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(baseVersion);
+            out.writeLong(targetVersion);
+            out.writeLong(sortedAdded.size());
+            out.writeLong(sortedRemoved.size());
+            for (byte[] record : sortedAdded) {
+                out.write(record, 0, RECORD_SIZE);
+            }
+            for (byte[] record : sortedRemoved) {
+                out.write(record, 0, RECORD_SIZE);
+            }
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            fileOut.getFD().sync();
+        }
+    }
+
+    private static long checksum(ByteBuffer buffer, int length) {
+        // CRC32.update(ByteBuffer) API 26 ile geldi; minSdk 21 için parça parça kopyala
+        CRC32 crc = new CRC32();
+        ByteBuffer view = buffer.duplicate();
+        view.position(0);
+        byte[] chunk = new byte[CHECKSUM_CHUNK_SIZE];
+        int remaining = length;
+        while (remaining > 0) {
+            int n = Math.min(chunk.length, remaining);
+            view.get(chunk, 0, n);
+            crc.update(chunk, 0, n);
+            remaining -= n;
+        }
+        return crc.getValue();
+    }
+
+    private static void checkAscending(ByteBuffer buffer, int offset, int count, String block) throws IOException {
+        byte[] previous = new byte[RECORD_SIZE];
+        byte[] current = new byte[RECORD_SIZE];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        for (int i = 0; i < count; i++) {
+            view.get(current);
+            if (i > 0 && SignatureDatabaseWriter.compare(previous, current) >= 0) {
+                throw new IOException("Signature delta " + block + " records not strictly ascending at " + i);
+            }
+            byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+    }
+
+    private ByteBuffer section(int offset, int count) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset).limit(offset + count * RECORD_SIZE);
+        return view.slice();
+    }
+
+    private static boolean next(ByteBuffer source, byte[] head) {
+        if (source.remaining() < RECORD_SIZE) {
+            return false;
+        }
+        source.get(head);
+        return true;
+    }
+}
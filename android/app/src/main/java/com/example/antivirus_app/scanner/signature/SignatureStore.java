@@ -0,0 +1,156 @@
+package com.example.antivirus_app.scanner.signature;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Uygulama deposundaki imza veritabanlarına süreç genelinde erişim sağlar.
+ * APK özetleri ve imzalayan sertifika özetleri aynı biçimde, ayrı dosyalarda
+ * tutulur.
+ *
+ * Veritabanı ilk sorguda belleğe eşlenir; bu yüzden uygulama açılışı
+ * yavaşlamaz ve yığında yer kaplamaz. Yeni bir dosya {@link #install} ile
+ * yerine taşındığında referans atomik olarak değiştirilir; o anda süren
+ * sorgular eski eşleme üzerinden tamamlanır.
+ */
+public final class SignatureStore {
+    private static final String TAG = "SignatureStore";
+    private static final String DIRECTORY = "signatures";
+    private static final String APK_HASHES_FILE = "signatures.db";
+    private static final String CERTIFICATES_FILE = "certificates.db";
+
+    private static volatile SignatureStore apkHashes;
+    private static volatile SignatureStore certificates;
+
+    private final File directory;
+    private final String fileName;
+    private volatile SignatureDatabase database;
+    private boolean opened;
+
+    private SignatureStore(File directory, String fileName) {
+        this.directory = directory;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Bilinen zararlı APK'ların SHA-256 özetleri.
+     */
+    public static SignatureStore forApkHashes(Context context) {
+        if (apkHashes == null) {
+            synchronized (SignatureStore.class) {
+                if (apkHashes == null) {
+                    apkHashes = new SignatureStore(new File(context.getFilesDir(), DIRECTORY), APK_HASHES_FILE);
+                }
+            }
+        }
+        return apkHashes;
+    }
+
+    /**
+     * Bilinen zararlı imzalayan sertifikalarının (DER) SHA-256 özetleri.
+     */
+    public static SignatureStore forCertificates(Context context) {
+        if (certificates == null) {
+            synchronized (SignatureStore.class) {
+                if (certificates == null) {
+                    certificates = new SignatureStore(new File(context.getFilesDir(), DIRECTORY), CERTIFICATES_FILE);
+                }
+            }
+        }
+        return certificates;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Güncel veritabanını döner; hiç veritabanı yoksa null.
+     */
+    @Nullable
+    public SignatureDatabase current() {
+        SignatureDatabase db = database;
+        if (db != null) {
+            return db;
+        }
+        synchronized (this) {
+            if (!opened) {
+                opened = true;
+                File file = new File(directory, fileName);
+                if (file.exists()) {
+                    try {
+                        database = SignatureDatabase.open(file);
+                        Log.d(TAG, "Signature database v" + database.getVersion() + " mapped with "
+                            + database.getRecordCount() + " records");
+                    } catch (IOException e) {
+                        Log.e(TAG, "Could not open signature database", e);
+                    }
+                }
+            }
+            return database;
+        }
+    }
+
+    /**
+     * Güncel veritabanının sürümü; veritabanı yoksa 0.
+     */
+    public long getVersion() {
+        SignatureDatabase db = current();
+        return db != null ? db.getVersion() : 0;
+    }
+
+    public boolean contains(byte[] sha256) {
+        SignatureDatabase db = current();
+        return db != null && db.contains(sha256);
+    }
+
+    /**
+     * Bir delta dosyasını güncel veritabanına uygular. Birleştirme yeni bir
+     * dosyaya akış halinde yazılır ve tamamlandığında atomik olarak devreye
+     * alınır; süren taramalar bu sırada eski nesli kullanmaya devam eder.
+     * Deltanın sildiği kayıt sayısını döner.
+     */
+    public synchronized int applyDelta(File deltaFile) throws IOException {
+        SignatureDelta delta = SignatureDelta.open(deltaFile);
+        SignatureDatabase base = current();
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        File prepared = new File(directory, fileName + ".new");
+        try {
+            delta.applyTo(base, prepared);
+            install(prepared);
+        } catch (IOException e) {
+            // Yarım kalan birleştirme bir sonraki denemeye taşınmasın
+            if (prepared.exists() && !prepared.delete()) {
+                Log.w(TAG, "Could not delete " + prepared);
+            }
+            throw e;
+        }
+        Log.d(TAG, "Applied signature delta v" + delta.getBaseVersion() + " -> v" + delta.getTargetVersion());
+        return delta.getRemovedCount();
+    }
+
+    /**
+     * Aynı dizinde hazırlanmış bir veritabanı dosyasını doğrulayıp güncel
+     * veritabanının yerine koyar.
+     */
+    public synchronized void install(File prepared) throws IOException {
+        // Önce doğrula; bozuk dosya yayına alınmasın
+        SignatureDatabase.open(prepared);
+
+        File target = new File(directory, fileName);
+        if (!prepared.renameTo(target)) {
+            throw new IOException("Could not move " + prepared + " to " + target);
+        }
+        database = SignatureDatabase.open(target);
+        opened = true;
+        Log.d(TAG, "Installed signature database v" + database.getVersion() + " with "
+            + database.getRecordCount() + " records");
+    }
+}
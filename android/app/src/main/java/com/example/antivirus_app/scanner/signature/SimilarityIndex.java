@@ -0,0 +1,174 @@
+package com.example.antivirus_app.scanner.signature;
+
+import com.example.antivirus_app.scanner.SimilarityHasher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Bilinen zararlı yazılımların benzerlik özetleri için belleğe eşlenmiş,
+ * yerelliğe duyarlı (LSH) indeks.
+ *
+ * Özet gövdesi sekiz kovalık {@link #BAND_COUNT} banda bölünür ve her bant
+ * için (bant değeri, kayıt) çiftleri sıralı bir tabloda tutulur. Bantlar dar
+ * tutulmuştur; yüzde birlik bayt değişikliği bile geniş bantların hepsini
+ * bozabilir. Sorguda her bantta ikili arama yapılır ve yalnızca en az bir
+ * bandı aynı olan adaylar için tam uzaklık hesaplanır; yüz binlerce kayıtta
+ * bile dokunulan sayfa sayısı logaritmiktir.
+ * Çok yaygın bant değerlerinde aday sayısı {@link #MAX_CANDIDATES_PER_BAND}
+ * ile sınırlanır. Sorgular thread-safe'tir. Dosya düzeni:
+ *
+ * <pre>
+ * 0  int  magic ("AVSI")
+ * 4  int  formatVersion
+ * 8  long version
+ * 16 int  recordCount
+ * 20 int  bandCount
+ * 24 byte[recordCount * DIGEST_SIZE]           özetler
+ *    bandCount x { recordCount x { int band, int record } }  banda göre artan sırada
+ * </pre>
+ */
+public final class SimilarityIndex {
+    public static final int BAND_COUNT = 16;
+    public static final int BAND_SIZE = 2;
+
+    static final int MAGIC = 0x41565349; // "AVSI"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int ENTRY_SIZE = 8;
+
+    private static final int MAX_CANDIDATES_PER_BAND = 64;
+
+    private final MappedByteBuffer buffer;
+    private final long version;
+    private final int recordCount;
+    private final int tablesOffset;
+
+    private SimilarityIndex(MappedByteBuffer buffer, long version, int recordCount) {
+        this.buffer = buffer;
+        this.version = version;
+        this.recordCount = recordCount;
+        this.tablesOffset = HEADER_SIZE + recordCount * SimilarityHasher.DIGEST_SIZE;
+    }
+
+    public static SimilarityIndex open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long size = raf.length();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid similarity index size: " + size);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unknown similarity index format");
+            }
+            long version = buffer.getLong(8);
+            int recordCount = buffer.getInt(16);
+            if (recordCount < 0 || buffer.getInt(20) != BAND_COUNT) {
+                throw new IOException("Corrupt similarity index header");
+            }
+            long expectedSize = HEADER_SIZE + (long) recordCount * (SimilarityHasher.DIGEST_SIZE + BAND_COUNT * ENTRY_SIZE);
+            if (expectedSize != size) {
+                throw new IOException("Similarity index size mismatch: " + size + " != " + expectedSize);
+            }
+            SimilarityIndex index = new SimilarityIndex(buffer, version, recordCount);
+            index.validateTables();
+            return index;
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Uzaklığı {@code maxDistance} veya altında olan en yakın kaydın
+     * uzaklığını döner; böyle bir kayıt yoksa -1.
+     */
+    public int nearest(byte[] digest, int maxDistance) {
+        if (digest.length != SimilarityHasher.DIGEST_SIZE) {
+            throw new IllegalArgumentException("Expected " + SimilarityHasher.DIGEST_SIZE + "-byte digest");
+        }
+        byte[] candidate = new byte[SimilarityHasher.DIGEST_SIZE];
+        int best = -1;
+        for (int band = 0; band < BAND_COUNT; band++) {
+            int key = bandValue(digest, 0, band);
+            int tableOffset = tablesOffset + band * recordCount * ENTRY_SIZE;
+            int entry = lowerBound(tableOffset, key);
+            for (int n = 0; n < MAX_CANDIDATES_PER_BAND && entry < recordCount; n++, entry++) {
+                int offset = tableOffset + entry * ENTRY_SIZE;
+                if (buffer.getInt(offset) != key) {
+                    break;
+                }
+                int record = buffer.getInt(offset + 4);
+                readRecord(record, candidate);
+                int distance = SimilarityHasher.distance(digest, 0, candidate, 0);
+                if (distance <= maxDistance && (best < 0 || distance < best)) {
+                    best = distance;
+                    if (best == 0) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Bant tablolarının sıralı olduğunu ve her girişin geçerli bir kayda
+     * işaret ettiğini doğrular; sorgular kayıt numarasını yeniden denetlemez.
+     */
+    private void validateTables() throws IOException {
+        for (int band = 0; band < BAND_COUNT; band++) {
+            int tableOffset = tablesOffset + band * recordCount * ENTRY_SIZE;
+            int previous = Integer.MIN_VALUE;
+            for (int entry = 0; entry < recordCount; entry++) {
+                int offset = tableOffset + entry * ENTRY_SIZE;
+                int key = buffer.getInt(offset);
+                int record = buffer.getInt(offset + 4);
+                if (key < previous || record < 0 || record >= recordCount) {
+                    throw new IOException("Corrupt similarity index band " + band + " at entry " + entry);
+                }
+                previous = key;
+            }
+        }
+    }
+
+    static int bandValue(byte[] digest, int offset, int band) {
+        int p = offset + SimilarityHasher.BODY_OFFSET + band * BAND_SIZE;
+        return ((digest[p] & 0xFF) << 8) | (digest[p + 1] & 0xFF);
+    }
+
+    private void readRecord(int record, byte[] out) {
+        int offset = HEADER_SIZE + record * SimilarityHasher.DIGEST_SIZE;
+        for (int i = 0; i < out.length; i++) {
+            out[i] = buffer.get(offset + i);
+        }
+    }
+
+    /**
+     * Bant değeri {@code key}'den küçük olmayan ilk girişin sırası.
+     */
+    private int lowerBound(int tableOffset, int key) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getInt(tableOffset + mid * ENTRY_SIZE) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
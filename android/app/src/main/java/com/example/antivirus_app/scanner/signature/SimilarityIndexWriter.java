@@ -0,0 +1,63 @@
+package com.example.antivirus_app.scanner.signature;
+
+import com.example.antivirus_app.scanner.SimilarityHasher;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link SimilarityIndex} dosyalarını yazar.
+ *
+ * Özetler verildiği sırayla kaydedilir; bant tabloları her bant için ayrı
+ * ayrı sıralanır, böylece bellekte aynı anda yalnızca bir bant tablosu bulunur.
+ */
+public final class SimilarityIndexWriter {
+    private SimilarityIndexWriter() {
+    }
+
+    public static void writeAll(File file, long version, List<byte[]> digests) throws IOException {
+        int count = digests.size();
+        FileOutputStream fileOut = new FileOutputStream(file);
+        boolean finished = false;
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 64 * 1024));
+            out.writeInt(SimilarityIndex.MAGIC);
+            out.writeInt(SimilarityIndex.FORMAT_VERSION);
+            out.writeLong(version);
+            out.writeInt(count);
+            out.writeInt(SimilarityIndex.BAND_COUNT);
+            for (byte[] digest : digests) {
+                if (digest.length != SimilarityHasher.DIGEST_SIZE) {
+                    throw new IllegalArgumentException("Expected " + SimilarityHasher.DIGEST_SIZE + "-byte digest");
+                }
+                out.write(digest);
+            }
+
+            // Üst 32 bit bant değeri, alt 32 bit kayıt sırası; işaretli sıralama okuyucuyla tutarlıdır
+            long[] entries = new long[count];
+            for (int band = 0; band < SimilarityIndex.BAND_COUNT; band++) {
+                for (int i = 0; i < count; i++) {
+                    entries[i] = ((long) SimilarityIndex.bandValue(digests.get(i), 0, band) << 32) | i;
+                }
+                Arrays.sort(entries);
+                for (long entry : entries) {
+                    out.writeLong(entry);
+                }
+            }
+            out.flush();
+            fileOut.getFD().sync();
+            finished = true;
+        } finally {
+            fileOut.close();
+            if (!finished) {
+                // Yarım kalan dosya geçerli bir indeks değildir
+                file.delete();
+            }
+        }
+    }
+}
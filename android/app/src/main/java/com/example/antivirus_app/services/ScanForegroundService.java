@@ -5,9 +5,7 @@ import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.app.Service;
 import android.content.Intent;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
+import android.content.SharedPreferences;
 import android.os.Build;
 import android.os.Handler;
 import android.os.IBinder;
@@ -19,43 +17,66 @@ import androidx.core.app.NotificationCompat;
 import com.example.antivirus_app.MainActivity;
 import com.example.antivirus_app.Application;
 import com.example.antivirus_app.R;
+import com.example.antivirus_app.scanner.ScanEngine;
+import com.example.antivirus_app.scanner.ScanJournal;
+import com.example.antivirus_app.scanner.ScanMetrics;
+import com.example.antivirus_app.scanner.ScanPipeline;
+import com.example.antivirus_app.scanner.fs.FileScanResult;
+import com.example.antivirus_app.scanner.fs.RealtimeMonitor;
+
+import com.example.antivirus_app.work.ScanScheduler;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ScanForegroundService extends Service {
     public static final String ACTION_START_FOREGROUND = "com.example.antivirus_app.action.START_FOREGROUND";
     public static final String ACTION_START_BACKGROUND = "com.example.antivirus_app.action.START_BACKGROUND";
     public static final String ACTION_STOP = "com.example.antivirus_app.action.STOP";
+    /** Servisin hızlı taramasına ait günlüğün adı. */
+    public static final String SCAN_JOURNAL = "quick";
     
     private static final int NOTIFICATION_ID = 1001;
     private static final String TAG = "ScanForegroundService";
+    private static final long METRICS_DUMP_INTERVAL_MS = 15 * 60 * 1000;
+    private static final String PREF_FILE = "com.example.antivirus_app.preferences";
+    // Sistem servisi intent olmadan yeniden başlattığında geri yüklenecek mod
+    private static final String PREF_SERVICE_MODE = "service_mode";
     
-    private Timer scanTimer;
     private ExecutorService executor;
     private AtomicBoolean isScanning = new AtomicBoolean(false);
     private Handler mainHandler;
+    private ScanPipeline scanPipeline;
+    private RealtimeMonitor realtimeMonitor;
+    private final Runnable metricsDump = new Runnable() {
+        @Override
+        public void run() {
+            // Servis çalıştığı sürece periyodik ölçüm özeti
+            Log.i(TAG, "Scan metrics: " + ScanMetrics.getInstance().dump());
+            mainHandler.postDelayed(this, METRICS_DUMP_INTERVAL_MS);
+        }
+    };
     
-    // Tarama istatistikleri
-    private int scannedApps = 0;
-    private int scannedFiles = 0;
-    private int threatsFound = 0;
+    // Tarama istatistikleri; işçi thread'lerinden güncellenir
+    private final AtomicInteger scannedApps = new AtomicInteger();
+    private final AtomicInteger scannedFiles = new AtomicInteger();
+    private final AtomicInteger threatsFound = new AtomicInteger();
     
     @Override
     public void onCreate() {
         super.onCreate();
         mainHandler = new Handler(Looper.getMainLooper());
+        // Tarama koordinatörü; asıl analiz ScanPipeline'ın işçi havuzunda yapılır
         executor = Executors.newSingleThreadExecutor();
+        scanPipeline = new ScanPipeline(ScanEngine.getInstance(this));
+        realtimeMonitor = new RealtimeMonitor(ScanEngine.getInstance(this), this::showFileThreatNotification);
+        mainHandler.postDelayed(metricsDump, METRICS_DUMP_INTERVAL_MS);
         Log.d(TAG, "Service created");
     }
 
@@ -66,17 +87,26 @@ public class ScanForegroundService extends Service {
             if (action != null) {
                 switch (action) {
                     case ACTION_START_FOREGROUND:
+                        saveMode(action);
                         startForegroundService();
                         startScanSchedule();
+                        // Gerçek zamanlı izleme yalnızca ön plan korumasında çalışır
+                        realtimeMonitor.start();
                         break;
                     case ACTION_START_BACKGROUND:
+                        saveMode(action);
                         startScanSchedule();
                         break;
                     case ACTION_STOP:
+                        saveMode(null);
+                        ScanScheduler.cancel(this);
                         stopSelf();
                         break;
                 }
             }
+        } else {
+            // Sistem, öldürülen servisi START_STICKY ile yeniden başlattı
+            restoreMode();
         }
         
         return START_STICKY;
@@ -91,11 +121,46 @@ public class ScanForegroundService extends Service {
     @Override
     public void onDestroy() {
         stopScanSchedule();
+        mainHandler.removeCallbacks(metricsDump);
+        realtimeMonitor.stop();
         executor.shutdownNow();
+        scanPipeline.shutdown();
         Log.d(TAG, "Service destroyed");
         super.onDestroy();
     }
 
+    private void saveMode(@Nullable String action) {
+        SharedPreferences prefs = getSharedPreferences(PREF_FILE, MODE_PRIVATE);
+        if (action != null) {
+            prefs.edit().putString(PREF_SERVICE_MODE, action).apply();
+        } else {
+            prefs.edit().remove(PREF_SERVICE_MODE).apply();
+        }
+    }
+
+    /**
+     * Son seçilen korumayı geri yükler: ön plan modunda bildirim ve gerçek
+     * zamanlı izleme yeniden başlatılır, yarım kalan tarama sürdürülür.
+     */
+    private void restoreMode() {
+        String mode = getSharedPreferences(PREF_FILE, MODE_PRIVATE).getString(PREF_SERVICE_MODE, null);
+        if (ACTION_START_FOREGROUND.equals(mode)) {
+            try {
+                startForegroundService();
+                realtimeMonitor.start();
+                Log.d(TAG, "Service restarted, realtime protection restored");
+            } catch (IllegalStateException e) {
+                // API 31+ arka plandan ön plan servisi başlatmaya izin vermeyebilir
+                Log.w(TAG, "Could not restore foreground protection", e);
+                showProtectionPausedNotification();
+            }
+        }
+        if (ScanJournal.hasPending(this, SCAN_JOURNAL)) {
+            Log.d(TAG, "Service restarted, resuming interrupted scan");
+            performQuickScan();
+        }
+    }
+
     private void startForegroundService() {
         // Ana aktiviteye dönmek için intent
         Intent notificationIntent = new Intent(this, MainActivity.class);
@@ -131,31 +196,18 @@ public class ScanForegroundService extends Service {
     }
 
     private void startScanSchedule() {
-        if (scanTimer != null) {
-            scanTimer.cancel();
-        }
-        
-        scanTimer = new Timer();
-        
-        // Periyodik tarama zamanlaması
-        scanTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (!isScanning.get()) {
-                    performQuickScan();
-                }
-            }
-        }, 1000, 30 * 60 * 1000); // 30 dakikada bir tarama yap
-        
+        // Periyodik taramalar WorkManager'a devredildi; kısıtlar sağlandığında
+        // servis çalışmıyor olsa da yürütülür
+        ScanScheduler.schedule(this);
+
+        // Koruma açıldığında bir kez hızlı tarama yap
+        performQuickScan();
+
         Log.d(TAG, "Scan schedule started");
     }
 
     private void stopScanSchedule() {
-        if (scanTimer != null) {
-            scanTimer.cancel();
-            scanTimer = null;
-        }
-        
+        scanPipeline.cancel();
         isScanning.set(false);
         Log.d(TAG, "Scan schedule stopped");
     }
@@ -165,33 +217,48 @@ public class ScanForegroundService extends Service {
             return;
         }
         
-        // Tarama istatistiklerini sıfırla
-        scannedApps = 0;
-        scannedFiles = 0;
-        threatsFound = 0;
-        
-        Log.d(TAG, "Starting quick scan");
-        updateNotification("Hızlı tarama başlatıldı", "Tarama devam ediyor...");
-        
         executor.execute(() -> {
             try {
+                // Yarım kalan taramanın sonuçları istatistiklere dahil edilir
+                ScanJournal journal = ScanJournal.open(this, SCAN_JOURNAL);
+                scannedApps.set(journal.getCompletedCount());
+                // Günlük yalnızca paket kararlarını tutar; bu sayaç bu çalışmada açılan APK'ları sayar
+                scannedFiles.set(0);
+                threatsFound.set(journal.getSuspiciousCount());
+
+                if (journal.isResuming()) {
+                    Log.d(TAG, "Resuming quick scan after " + journal.getCompletedCount() + " apps");
+                    mainHandler.post(() -> updateNotification("Hızlı tarama sürdürülüyor", "Tarama devam ediyor..."));
+                } else {
+                    Log.d(TAG, "Starting quick scan");
+                    mainHandler.post(() -> updateNotification("Hızlı tarama başlatıldı", "Tarama devam ediyor..."));
+                }
+
                 // Yüklü uygulamaları tara
-                scanInstalledApps();
+                if (!scanInstalledApps(journal)) {
+                    Log.d(TAG, "Quick scan interrupted, progress saved");
+                    return;
+                }
                 
                 // Tarama tamamlandı
-                Log.d(TAG, "Quick scan completed. Scanned apps: " + scannedApps + ", Files: " + scannedFiles + ", Threats: " + threatsFound);
+                int apps = scannedApps.get();
+                int threats = threatsFound.get();
+                Log.d(TAG, "Quick scan completed. Scanned apps: " + apps + ", Files: " + scannedFiles.get() + ", Threats: " + threats);
                 
-                if (threatsFound > 0) {
+                if (threats > 0) {
                     // Tehdit bulundu bildirimi
-                    showThreatNotification(threatsFound);
+                    showThreatNotification(threats);
                 }
                 
                 mainHandler.post(() -> {
                     updateNotification(
                         "Tarama tamamlandı",
-                        "Taranan uygulama: " + scannedApps + " - Tehdit: " + threatsFound
+                        "Taranan uygulama: " + apps + " - Tehdit: " + threats
                     );
                 });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Log.e(TAG, "Scan interrupted", e);
             } catch (Exception e) {
                 Log.e(TAG, "Error during scan", e);
                 mainHandler.post(() -> {
@@ -203,53 +270,17 @@ public class ScanForegroundService extends Service {
         });
     }
 
-    private void scanInstalledApps() {
-        PackageManager packageManager = getPackageManager();
-        List<PackageInfo> packages = packageManager.getInstalledPackages(0);
-        
-        for (PackageInfo packageInfo : packages) {
-            ApplicationInfo appInfo = packageInfo.applicationInfo;
-            
-            // Sistem uygulamalarını atla
-            if ((appInfo.flags & ApplicationInfo.FLAG_SYSTEM) == 0) {
-                scannedApps++;
-                
-                // APK dosya yolunu al
-                String apkPath = appInfo.sourceDir;
-                
-                // Normalde, burada APK dosyasının hash'i hesaplanır ve veritabanı ile karşılaştırılır
-                // Örnek olarak, basit bir simülasyon yapıyoruz
-                if (shouldFlagAsSuspicious(packageInfo.packageName, apkPath)) {
-                    threatsFound++;
-                }
-                
-                // İşlemciyi çok fazla kullanmamak için kısa bir bekleme
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    Log.e(TAG, "Scan interrupted", e);
-                    return;
-                }
+    private boolean scanInstalledApps(ScanJournal journal) throws InterruptedException {
+        return scanPipeline.scanInstalledApps(false, journal, verdict -> {
+            // İşçi thread'lerinden çağrılır
+            scannedApps.incrementAndGet();
+            if (!verdict.isFromCache()) {
+                scannedFiles.incrementAndGet();
             }
-        }
-    }
-
-    private boolean shouldFlagAsSuspicious(String packageName, String apkPath) {
-        // Bu örnek için, belirli isim desenlerini içeren paketleri şüpheli olarak işaretliyoruz
-        // Gerçek bir antivirüs yazılımında, hash veritabanları, davranış analizi vb. kullanılır
-        String[] suspiciousPatterns = {
-            "hack", "crack", "cheat", "spy", "track", "malware", "trojan"
-        };
-        
-        String lowerPackageName = packageName.toLowerCase();
-        for (String pattern : suspiciousPatterns) {
-            if (lowerPackageName.contains(pattern)) {
-                return true;
+            if (verdict.isSuspicious()) {
+                threatsFound.incrementAndGet();
             }
-        }
-        
-        return false;
+        });
     }
 
     private void updateNotification(String title, String text) {
@@ -265,29 +296,52 @@ public class ScanForegroundService extends Service {
         }
     }
 
+    private void showProtectionPausedNotification() {
+        Intent notificationIntent = new Intent(this, MainActivity.class);
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+            this,
+            0,
+            notificationIntent,
+            PendingIntent.FLAG_IMMUTABLE
+        );
+
+        Notification notification = new NotificationCompat.Builder(this, Application.CHANNEL_ID)
+            .setContentTitle("Gerçek zamanlı koruma durduruldu")
+            .setContentText("Korumayı yeniden başlatmak için uygulamayı açın")
+            .setSmallIcon(R.drawable.ic_notification)
+            .setContentIntent(pendingIntent)
+            .setAutoCancel(true)
+            .build();
+
+        NotificationManager notificationManager = getSystemService(NotificationManager.class);
+        notificationManager.notify(NOTIFICATION_ID, notification);
+    }
+
     private void showThreatNotification(int threatCount) {
-        // Ana aktiviteye dönmek için intent
+        ThreatNotifier.showThreatCount(this, threatCount);
+    }
+
+    private void showFileThreatNotification(FileScanResult result) {
+        // Gerçek zamanlı izleyicinin tarama thread'inden çağrılır
         Intent notificationIntent = new Intent(this, MainActivity.class);
         PendingIntent pendingIntent = PendingIntent.getActivity(
             this,
-            2,
+            3,
             notificationIntent,
             PendingIntent.FLAG_IMMUTABLE
         );
-        
-        String title = threatCount + " tehdit tespit edildi!";
-        String text = "Cihazınızda " + threatCount + " tehdit tespit edildi. Detaylar için tıklayın.";
-        
+
         Notification notification = new NotificationCompat.Builder(this, Application.THREAT_NOTIFICATION_CHANNEL)
-            .setContentTitle(title)
-            .setContentText(text)
+            .setContentTitle("Zararlı dosya tespit edildi!")
+            .setContentText(result.getName() + " dosyası bilinen bir tehdit içeriyor.")
             .setSmallIcon(R.drawable.ic_notification)
             .setPriority(NotificationCompat.PRIORITY_HIGH)
             .setContentIntent(pendingIntent)
             .setAutoCancel(true)
             .build();
-            
+
         NotificationManager notificationManager = getSystemService(NotificationManager.class);
-        notificationManager.notify(1002, notification);
+        notificationManager.notify(result.getPath().hashCode(), notification);
+        Log.w(TAG, "Realtime threat detected: " + result.getPath());
     }
-}
\ No newline at end of file
+}
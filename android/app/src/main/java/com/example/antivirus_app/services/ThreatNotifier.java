@@ -0,0 +1,52 @@
+package com.example.antivirus_app.services;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import androidx.core.app.NotificationCompat;
+
+import com.example.antivirus_app.Application;
+import com.example.antivirus_app.MainActivity;
+import com.example.antivirus_app.R;
+
+/**
+ * Tarama sonucunda bulunan tehditler için kullanıcı bildirimi.
+ *
+ * Hem ön plan servisi hem de zamanlanmış arka plan taramaları aynı bildirimi
+ * günceller.
+ */
+public final class ThreatNotifier {
+    private static final int THREAT_NOTIFICATION_ID = 1002;
+
+    private ThreatNotifier() {
+    }
+
+    public static void showThreatCount(Context context, int threatCount) {
+        // Ana aktiviteye dönmek için intent
+        Intent notificationIntent = new Intent(context, MainActivity.class);
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+            context,
+            2,
+            notificationIntent,
+            PendingIntent.FLAG_IMMUTABLE
+        );
+
+        String title = threatCount + " tehdit tespit edildi!";
+        String text = "Cihazınızda " + threatCount + " tehdit tespit edildi. Detaylar için tıklayın.";
+
+        Notification notification = new NotificationCompat.Builder(context, Application.THREAT_NOTIFICATION_CHANNEL)
+            .setContentTitle(title)
+            .setContentText(text)
+            .setSmallIcon(R.drawable.ic_notification)
+            .setPriority(NotificationCompat.PRIORITY_HIGH)
+            .setContentIntent(pendingIntent)
+            .setAutoCancel(true)
+            .build();
+
+        NotificationManager notificationManager =
+            (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        notificationManager.notify(THREAT_NOTIFICATION_ID, notification);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.antivirus_app.work;
+
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periyodik taramaları WorkManager üzerinden zamanlar.
+ *
+ * Tam tarama cihaz şarjdayken ve boştayken günde bir kez, artımlı tarama ise
+ * pil düşük değilken saatte bir çalışır. İşler benzersiz adlarla kaydedilir;
+ * tekrar çağrıldığında mevcut zamanlama korunur. WorkManager işleri yeniden
+ * başlatmalar arasında sakladığından servis kapalıyken de taramalar sürer.
+ */
+public final class ScanScheduler {
+    private static final String TAG = "ScanScheduler";
+
+    static final String FULL_SCAN_WORK = "full_scan";
+    static final String INCREMENTAL_SCAN_WORK = "incremental_scan";
+    static final String RESUME_SCAN_WORK = "resume_scan";
+
+    private static final long FULL_SCAN_INTERVAL_HOURS = 24;
+    private static final long INCREMENTAL_SCAN_INTERVAL_MINUTES = 60;
+    private static final long INCREMENTAL_SCAN_FLEX_MINUTES = 15;
+    private static final long BACKOFF_MINUTES = 10;
+
+    private ScanScheduler() {
+    }
+
+    public static void schedule(Context context) {
+        WorkManager workManager = WorkManager.getInstance(context);
+
+        Constraints.Builder fullConstraints = new Constraints.Builder()
+            .setRequiresCharging(true)
+            .setRequiresStorageNotLow(true);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            fullConstraints.setRequiresDeviceIdle(true);
+        }
+        PeriodicWorkRequest fullScan = new PeriodicWorkRequest.Builder(
+                ScanWorker.class, FULL_SCAN_INTERVAL_HOURS, TimeUnit.HOURS)
+            .setConstraints(fullConstraints.build())
+            .setInputData(ScanWorker.inputData(true))
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+        Constraints incrementalConstraints = new Constraints.Builder()
+            .setRequiresBatteryNotLow(true)
+            .build();
+        PeriodicWorkRequest incrementalScan = new PeriodicWorkRequest.Builder(
+                ScanWorker.class,
+                INCREMENTAL_SCAN_INTERVAL_MINUTES, TimeUnit.MINUTES,
+                INCREMENTAL_SCAN_FLEX_MINUTES, TimeUnit.MINUTES)
+            .setConstraints(incrementalConstraints)
+            .setInputData(ScanWorker.inputData(false))
+            .setBackoffCriteria(BackoffPolicy.LINEAR, BACKOFF_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+        workManager.enqueueUniquePeriodicWork(FULL_SCAN_WORK, ExistingPeriodicWorkPolicy.KEEP, fullScan);
+        workManager.enqueueUniquePeriodicWork(INCREMENTAL_SCAN_WORK, ExistingPeriodicWorkPolicy.KEEP, incrementalScan);
+        Log.d(TAG, "Scan work scheduled");
+    }
+
+    /**
+     * Adı verilen günlükte yarım kalmış taramayı tek seferlik bir iş olarak
+     * sürdürür. Servis çalışmayacaksa açılışta kullanılır.
+     */
+    public static void resumePending(Context context, String journalName) {
+        Constraints constraints = new Constraints.Builder()
+            .setRequiresBatteryNotLow(true)
+            .build();
+        OneTimeWorkRequest resume = new OneTimeWorkRequest.Builder(ScanWorker.class)
+            .setConstraints(constraints)
+            .setInputData(ScanWorker.inputData(false, journalName))
+            .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(RESUME_SCAN_WORK, ExistingWorkPolicy.KEEP, resume);
+        Log.d(TAG, "Pending scan " + journalName + " scheduled to resume");
+    }
+
+    public static void cancel(Context context) {
+        WorkManager workManager = WorkManager.getInstance(context);
+        workManager.cancelUniqueWork(FULL_SCAN_WORK);
+        workManager.cancelUniqueWork(INCREMENTAL_SCAN_WORK);
+        workManager.cancelUniqueWork(RESUME_SCAN_WORK);
+        Log.d(TAG, "Scan work cancelled");
+    }
+}
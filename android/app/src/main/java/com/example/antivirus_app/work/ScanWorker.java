@@ -0,0 +1,97 @@
+package com.example.antivirus_app.work;
+
+import android.content.Context;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.antivirus_app.scanner.ScanEngine;
+import com.example.antivirus_app.scanner.ScanJournal;
+import com.example.antivirus_app.scanner.ScanPipeline;
+import com.example.antivirus_app.services.ThreatNotifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WorkManager tarafından kısıtlar sağlandığında çalıştırılan uygulama taraması.
+ *
+ * Artımlı taramada yalnızca önbellekte karşılığı olmayan APK'lar analiz edilir;
+ * tam taramada her APK yeniden özetlenir. İlerleme {@link ScanJournal}'a
+ * yazılır. Kısıtlar ortadan kalktığında (ör. şarjdan çıkarıldığında) sistem
+ * işi durdurur, iş yeniden denendiğinde tamamlanan paketler atlanır.
+ */
+public class ScanWorker extends Worker {
+    public static final String KEY_FULL_SCAN = "full_scan";
+    /** Kullanılacak tarama günlüğünün adı; verilmezse tarama türüne göre seçilir. */
+    public static final String KEY_JOURNAL = "journal";
+
+    private static final String TAG = "ScanWorker";
+
+    private final ScanPipeline pipeline;
+
+    public ScanWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        pipeline = new ScanPipeline(ScanEngine.getInstance(context));
+    }
+
+    static Data inputData(boolean fullScan) {
+        return new Data.Builder()
+            .putBoolean(KEY_FULL_SCAN, fullScan)
+            .build();
+    }
+
+    static Data inputData(boolean fullScan, String journalName) {
+        return new Data.Builder()
+            .putBoolean(KEY_FULL_SCAN, fullScan)
+            .putString(KEY_JOURNAL, journalName)
+            .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        boolean fullScan = getInputData().getBoolean(KEY_FULL_SCAN, false);
+        String mode = fullScan ? "full" : "incremental";
+        String journalName = getInputData().getString(KEY_JOURNAL);
+        ScanJournal journal = ScanJournal.open(getApplicationContext(), journalName != null ? journalName : mode);
+
+        // Yarım kalan taramanın sonuçları sayaçlara dahil edilir
+        AtomicInteger scanned = new AtomicInteger(journal.getCompletedCount());
+        AtomicInteger threats = new AtomicInteger(journal.getSuspiciousCount());
+
+        Log.d(TAG, (journal.isResuming() ? "Resuming " : "Starting ") + mode + " scan");
+        try {
+            boolean completed = pipeline.scanInstalledApps(fullScan, journal, verdict -> {
+                // İşçi thread'lerinden çağrılır
+                scanned.incrementAndGet();
+                if (verdict.isSuspicious()) {
+                    threats.incrementAndGet();
+                }
+            });
+            if (threats.get() > 0) {
+                ThreatNotifier.showThreatCount(getApplicationContext(), threats.get());
+            }
+            if (!completed || isStopped()) {
+                Log.d(TAG, mode + " scan stopped after " + scanned.get() + " apps");
+                return Result.retry();
+            }
+            Log.d(TAG, mode + " scan completed. Scanned apps: " + scanned.get() + ", Threats: " + threats.get());
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Error during " + mode + " scan", e);
+            return Result.failure();
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    @Override
+    public void onStopped() {
+        pipeline.cancel();
+    }
+}
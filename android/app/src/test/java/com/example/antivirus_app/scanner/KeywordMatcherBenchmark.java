@@ -0,0 +1,124 @@
+package com.example.antivirus_app.scanner;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * JMH tarzı mikro kıyaslama: {@link KeywordMatcher} ile eski
+ * toLowerCase + contains döngüsünü 10, 1k ve 10k desende karşılaştırır.
+ *
+ * JMH bağımlılığı eklememek için ısınma/ölçüm turları elle yapılır.
+ * Çalıştırmak için: derlenmiş sınıflarla {@code java ... KeywordMatcherBenchmark}
+ */
+public final class KeywordMatcherBenchmark {
+    private static final int[] PATTERN_COUNTS = {10, 1_000, 10_000};
+    private static final int PACKAGE_COUNT = 1_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final long ITERATION_NANOS = 200_000_000L;
+
+    // Sonuçların JIT tarafından elenmesini önler
+    private static volatile int sink;
+
+    private KeywordMatcherBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        String[] packageNames = new String[PACKAGE_COUNT];
+        for (int i = 0; i < PACKAGE_COUNT; i++) {
+            packageNames[i] = "com." + randomWord(random, 4, 10) + "." + randomWord(random, 3, 12)
+                + (i % 3 == 0 ? "." + randomWord(random, 3, 8).toUpperCase(Locale.ROOT) : "");
+        }
+
+        System.out.printf(Locale.ROOT, "%-10s %-12s %16s %12s%n", "patterns", "benchmark", "ops/s (names)", "error %");
+        for (int patternCount : PATTERN_COUNTS) {
+            String[] patterns = new String[patternCount];
+            for (int i = 0; i < patternCount; i++) {
+                patterns[i] = randomWord(random, 5, 9);
+            }
+            KeywordMatcher matcher = KeywordMatcher.compile(patterns);
+
+            report(patternCount, "loop", measure(() -> {
+                int hits = 0;
+                for (String name : packageNames) {
+                    if (loopMatch(patterns, name)) {
+                        hits++;
+                    }
+                }
+                return hits;
+            }));
+            report(patternCount, "automaton", measure(() -> {
+                int hits = 0;
+                for (String name : packageNames) {
+                    if (matcher.matches(name)) {
+                        hits++;
+                    }
+                }
+                return hits;
+            }));
+        }
+    }
+
+    // Değiştirilen uygulamadaki döngünün birebir karşılığı
+    private static boolean loopMatch(String[] patterns, String packageName) {
+        String lowerPackageName = packageName.toLowerCase();
+        for (String pattern : patterns) {
+            if (lowerPackageName.contains(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface Operation {
+        int run();
+    }
+
+    private static double[] measure(Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(operation);
+        }
+        double[] results = new double[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            results[i] = runIteration(operation);
+        }
+        return results;
+    }
+
+    // Bir tur boyunca işlemi tekrarlar ve saniyede taranan paket adı sayısını döner
+    private static double runIteration(Operation operation) {
+        long start = System.nanoTime();
+        long elapsed;
+        long operations = 0;
+        do {
+            sink += operation.run();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        return operations * (double) PACKAGE_COUNT * 1e9 / elapsed;
+    }
+
+    private static void report(int patternCount, String name, double[] results) {
+        double mean = 0;
+        for (double r : results) {
+            mean += r;
+        }
+        mean /= results.length;
+        double variance = 0;
+        for (double r : results) {
+            variance += (r - mean) * (r - mean);
+        }
+        double stdDev = Math.sqrt(variance / (results.length - 1));
+        System.out.printf(Locale.ROOT, "%-10d %-12s %16.0f %11.1f%%%n", patternCount, name, mean, 100 * stdDev / mean);
+    }
+
+    private static String randomWord(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+}
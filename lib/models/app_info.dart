@@ -1,3 +1,7 @@
+import 'dart:typed_data';
+import 'package:intl/intl.dart';
+import 'binary_record_reader.dart';
+
 class AppInfo {
   final String packageName;
   final String appName;
@@ -56,4 +60,39 @@ class AppInfo {
       'isRunning': isRunning,
     };
   }
-}
\ No newline at end of file
+
+  // Yerel taraftan ikili kodlanmış (getInstalledApps, binary: true) listeyi çözer
+  static List<AppInfo> decodeList(Uint8List bytes) {
+    final reader = BinaryRecordReader(bytes, expectedType: BinaryRecordReader.recordInstalledApp);
+    final dateFormat = DateFormat('yyyy-MM-dd');
+    return List<AppInfo>.generate(reader.recordCount, (_) {
+      final packageName = reader.readString() ?? '';
+      final appName = reader.readString() ?? '';
+      final versionName = reader.readString() ?? '';
+      final versionCode = reader.readInt();
+      reader.readString(); // apkPath
+      final apkSize = reader.readInt64();
+      final installedDate = reader.readInt64();
+      final lastUpdatedDate = reader.readInt64();
+      reader.readInt(); // riskScore
+      final permissions = reader.readStringList();
+      reader.readStringList(); // riskFactors
+
+      return AppInfo(
+        packageName: packageName,
+        appName: appName,
+        versionName: versionName,
+        versionCode: versionCode,
+        installDate: dateFormat.format(DateTime.fromMillisecondsSinceEpoch(installedDate)),
+        updateDate: dateFormat.format(DateTime.fromMillisecondsSinceEpoch(lastUpdatedDate)),
+        appSize: '${(apkSize / (1024 * 1024)).toStringAsFixed(1)} MB',
+        isSystemApp: false,
+        permissions: permissions
+            .map((permission) => permission.substring(permission.lastIndexOf('.') + 1))
+            .join(', '),
+        appIcon: '',
+        isRunning: false,
+      );
+    }, growable: false);
+  }
+}
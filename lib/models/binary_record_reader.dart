@@ -0,0 +1,76 @@
+import 'dart:convert';
+import 'dart:typed_data';
+
+/// Yerel taraftaki `BinaryRecordWriter` biçimini okuyan çözücü.
+///
+/// Mesaj bir başlık, tekrar eden değerler için bir string tablosu ve alan
+/// sırası kayıt tipine göre sabit olan kayıtlardan oluşur.
+class BinaryRecordReader {
+  static const int formatVersion = 1;
+  static const int recordInstalledApp = 1;
+  static const int recordFileScan = 2;
+
+  final Uint8List _bytes;
+  final ByteData _data;
+  int _offset = 0;
+  late final List<String> _strings;
+  late final int recordCount;
+
+  BinaryRecordReader(Uint8List bytes, {required int expectedType})
+      : _bytes = bytes,
+        _data = ByteData.sublistView(bytes) {
+    final version = _data.getUint8(_offset++);
+    if (version != formatVersion) {
+      throw FormatException('Unsupported binary record version: $version');
+    }
+    final recordType = _data.getUint8(_offset++);
+    if (recordType != expectedType) {
+      throw FormatException('Unexpected record type: $recordType');
+    }
+    final stringCount = readVarint();
+    _strings = List<String>.generate(stringCount, (_) {
+      final length = readVarint();
+      final value = utf8.decode(Uint8List.sublistView(_bytes, _offset, _offset + length));
+      _offset += length;
+      return value;
+    }, growable: false);
+    recordCount = readVarint();
+  }
+
+  int readVarint() {
+    int result = 0;
+    int shift = 0;
+    while (true) {
+      final b = _data.getUint8(_offset++);
+      result |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+      shift += 7;
+    }
+  }
+
+  // Zigzag kodlanmış işaretli tam sayı
+  int readInt() {
+    final value = readVarint();
+    return (value >> 1) ^ -(value & 1);
+  }
+
+  int readInt64() {
+    final value = _data.getInt64(_offset, Endian.little);
+    _offset += 8;
+    return value;
+  }
+
+  int readByte() => _data.getUint8(_offset++);
+
+  String? readString() {
+    final id = readVarint();
+    return id == 0 ? null : _strings[id - 1];
+  }
+
+  List<String> readStringList() {
+    final count = readVarint();
+    return List<String>.generate(count, (_) => readString() ?? '', growable: false);
+  }
+}
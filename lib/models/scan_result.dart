@@ -1,6 +1,9 @@
 import 'dart:convert';
+import 'dart:typed_data';
 import 'package:intl/intl.dart';
+import 'binary_record_reader.dart';
 import 'threat.dart';
+import '../utils/constants.dart';
 
 class ScanResult {
   final String id;
@@ -124,4 +127,37 @@ class ScanResult {
       userId: userId,
     );
   }
-}
\ No newline at end of file
+
+  // Yerel taraftan ikili kodlanmış (scanFile, binary: true) dosya tarama sonucunu çözer
+  static ScanResult decodeFileScan(Uint8List bytes) {
+    final reader = BinaryRecordReader(bytes, expectedType: BinaryRecordReader.recordFileScan);
+    final filePath = reader.readString();
+    final fileName = reader.readString();
+    reader.readInt64(); // fileSize
+    reader.readInt64(); // lastModified
+    reader.readByte(); // okunabilir/çalıştırılabilir bayrakları
+    final status = reader.readString() ?? 'ERROR';
+    final message = reader.readString() ?? '';
+
+    final now = DateTime.now();
+    final threats = <Threat>[];
+    if (status != 'CLEAN' && status != 'ERROR') {
+      threats.add(Threat(
+        id: 'threat_${now.millisecondsSinceEpoch}',
+        name: fileName ?? status,
+        type: status,
+        description: message,
+        filePath: filePath,
+      ));
+    }
+    return ScanResult(
+      id: 'scan_${now.millisecondsSinceEpoch}',
+      type: ScanTypes.custom,
+      startTime: now,
+      endTime: now,
+      totalScanned: status == 'ERROR' ? 0 : 1,
+      threatsFound: threats,
+      progress: 100,
+    );
+  }
+}